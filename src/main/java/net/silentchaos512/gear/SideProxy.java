@@ -12,6 +12,7 @@ import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.StringTextComponent;
 import net.minecraft.world.gen.feature.Feature;
 import net.minecraft.world.gen.placement.Placement;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
 import net.minecraftforge.client.model.ModelLoaderRegistry;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.loot.GlobalLootModifierSerializer;
@@ -24,19 +25,23 @@ import net.minecraftforge.fml.event.lifecycle.*;
 import net.minecraftforge.fml.event.server.FMLServerStartedEvent;
 import net.minecraftforge.fml.event.server.FMLServerStoppingEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
+import net.minecraftforge.resource.ISelectiveResourceReloadListener;
 import net.silentchaos512.gear.api.parts.MaterialGrade;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.block.salvager.SalvagerInputCache;
 import net.silentchaos512.gear.client.ColorHandlers;
 import net.silentchaos512.gear.client.DebugOverlay;
 import net.silentchaos512.gear.client.KeyTracker;
 import net.silentchaos512.gear.client.event.ExtraBlockBreakHandler;
 import net.silentchaos512.gear.client.event.TooltipHandler;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
+import net.silentchaos512.gear.client.model.BakedModelCache;
 import net.silentchaos512.gear.client.model.fragment.FragmentModelLoader;
 import net.silentchaos512.gear.client.model.gear.GearModelLoader;
 import net.silentchaos512.gear.client.model.part.CompoundPartModelLoader;
 import net.silentchaos512.gear.client.util.ModItemModelProperties;
+import net.silentchaos512.gear.client.util.TooltipCache;
 import net.silentchaos512.gear.compat.gamestages.GameStagesCompat;
 import net.silentchaos512.gear.compat.mineandslash.MineAndSlashCompat;
 import net.silentchaos512.gear.config.Config;
@@ -50,6 +55,8 @@ import net.silentchaos512.gear.parts.PartManager;
 import net.silentchaos512.gear.parts.type.CompoundPart;
 import net.silentchaos512.gear.traits.TraitManager;
 import net.silentchaos512.gear.util.Const;
+import net.silentchaos512.gear.util.DataEpoch;
+import net.silentchaos512.gear.util.DifferentialReload;
 import net.silentchaos512.gear.world.ModWorldFeatures;
 import net.silentchaos512.lib.event.Greetings;
 import net.silentchaos512.lib.event.InitialSpawnItems;
@@ -115,6 +122,7 @@ class SideProxy implements IProxy {
     private static void imcProcess(InterModProcessEvent event) {}
 
     private static void onAddReloadListeners(AddReloadListenerEvent event) {
+        DifferentialReload.setIncomingTags(event.getDataPackRegistries().getTagManager());
         event.addListener(TraitManager.INSTANCE);
         event.addListener(PartManager.INSTANCE);
         event.addListener(MaterialManager.INSTANCE);
@@ -161,10 +169,10 @@ class SideProxy implements IProxy {
             MinecraftForge.EVENT_BUS.register(ExtraBlockBreakHandler.INSTANCE);
             MinecraftForge.EVENT_BUS.register(TooltipHandler.INSTANCE);
             MinecraftForge.EVENT_BUS.addListener(this::onPlayerLoggedIn);
+            MinecraftForge.EVENT_BUS.addListener(Client::onRecipesUpdated);
 
-            if (SilentGear.isDevBuild()) {
-                MinecraftForge.EVENT_BUS.register(new DebugOverlay());
-            }
+            // Also shows the cache panel, so registered in all builds (hidden unless enabled)
+            MinecraftForge.EVENT_BUS.register(new DebugOverlay());
 
             // FIXME: Crashes on runData because MC instance is null
             //noinspection ConstantConditions
@@ -173,9 +181,13 @@ class SideProxy implements IProxy {
                 ModelLoaderRegistry.registerLoader(Const.FRAGMENT_MODEL_LOADER, new FragmentModelLoader());
                 ModelLoaderRegistry.registerLoader(Const.GEAR_MODEL_LOADER, new GearModelLoader());
 
+                DataEpoch.addListener(BakedModelCache::invalidateAll);
+                DataEpoch.addListener(TooltipCache::clear);
+
                 IResourceManager resourceManager = Minecraft.getInstance().getResourceManager();
                 if (resourceManager instanceof IReloadableResourceManager) {
                     ((IReloadableResourceManager) resourceManager).addReloadListener(MaterialDisplayManager.INSTANCE);
+                    ((IReloadableResourceManager) resourceManager).addReloadListener((ISelectiveResourceReloadListener) (manager, predicate) -> TooltipCache.clear());
                 }
             } else {
                 SilentGear.LOGGER.warn("MC instance is null? Must be running data generators! Not registering model loaders...");
@@ -191,6 +203,10 @@ class SideProxy implements IProxy {
             ModItemModelProperties.register(event);
         }
 
+        private static void onRecipesUpdated(RecipesUpdatedEvent event) {
+            SalvagerInputCache.clear();
+        }
+
         private void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
             /*
             if (Loader.isModLoaded("jei")) {
@@ -7,8 +7,7 @@ import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TranslationTextComponent;
 
 import javax.annotation.Nullable;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.regex.Pattern;
 
 /**
@@ -17,10 +16,13 @@ import java.util.regex.Pattern;
  * <p>
  * New gear types can be added with {@link #getOrCreate(String, GearType)}. It is recommended to
  * store this in a static final field in your item class, but the location doesn't matter.
+ * <p>
+ * Each type is given an index when created, and stores the set of indices of itself and all its
+ * ancestors. Since a type's parent can never change, matching is a single bit test.
  */
 public final class GearType {
     private static final Pattern VALID_NAME = Pattern.compile("[^a-z_]");
-    private static final Map<String, GearType> VALUES = new HashMap<>();
+    private static final Map<String, GearType> VALUES = new LinkedHashMap<>();
 
     // A non-existent gear type which matches nothing
     public static final GearType NONE = getOrCreate("none");
@@ -78,6 +80,15 @@ public final class GearType {
         return VALUES.get(name);
     }
 
+    /**
+     * Gets all gear types, in the order they were created.
+     *
+     * @return Collection of all gear types (unmodifiable)
+     */
+    public static Collection<GearType> getValues() {
+        return Collections.unmodifiableCollection(VALUES.values());
+    }
+
     /**
      * Gets or creates a new gear type without a parent. This should NOT be used in most cases. If
      * the gear type already exists, the existing instance is not modified in any way.
@@ -106,10 +117,10 @@ public final class GearType {
      * @return The newly created gear type, or the existing instance if it already exists
      * @throws IllegalArgumentException if the name is invalid
      */
-    public static GearType getOrCreate(String name, @Nullable GearType parent, int animationFrames) {
+    public static synchronized GearType getOrCreate(String name, @Nullable GearType parent, int animationFrames) {
         if (VALID_NAME.matcher(name).find())
             throw new IllegalArgumentException("Invalid name: " + name);
-        return VALUES.computeIfAbsent(name, k -> new GearType(name, parent, animationFrames));
+        return VALUES.computeIfAbsent(name, k -> new GearType(name, parent, animationFrames, VALUES.size()));
     }
 
     public static GearType fromJson(JsonObject json, String key) {
@@ -124,11 +135,17 @@ public final class GearType {
     private final String name;
     @Nullable private final GearType parent;
     private final int animationFrames;
+    private final int index;
+    // Indices of this type and all its ancestors
+    private final BitSet ancestors;
 
-    private GearType(String name, @Nullable GearType parent, int animationFrames) {
+    private GearType(String name, @Nullable GearType parent, int animationFrames, int index) {
         this.name = name;
         this.parent = parent;
         this.animationFrames = animationFrames;
+        this.index = index;
+        this.ancestors = parent != null ? (BitSet) parent.ancestors.clone() : new BitSet();
+        this.ancestors.set(index);
     }
 
     public String getName() {
@@ -161,7 +178,7 @@ public final class GearType {
     }
 
     public boolean matches(GearType type) {
-        return matches(type.name, true);
+        return matches(type, true);
     }
 
     /**
@@ -174,14 +191,21 @@ public final class GearType {
      * @return True if this type's name is equal to type, or if its parent matches (recursive)
      */
     public boolean matches(String type, boolean includeAll) {
-        if (type.contains("/")) {
-            return matches(type.split("/")[1], includeAll);
+        int slash = type.indexOf('/');
+        if (slash > -1) {
+            int end = type.indexOf('/', slash + 1);
+            return matches(end > -1 ? type.substring(slash + 1, end) : type.substring(slash + 1), includeAll);
+        }
+        if (includeAll && "all".equals(type)) {
+            return true;
         }
-        return (includeAll && "all".equals(type)) || name.equals(type) || (parent != null && parent.matches(type, includeAll));
+        // Unknown names can't match anything, since every ancestor is a registered type
+        GearType other = VALUES.get(type);
+        return other != null && ancestors.get(other.index);
     }
 
     public boolean matches(GearType type, boolean includeAll) {
-        return matches(type.name, includeAll);
+        return (includeAll && type == ALL) || ancestors.get(type.index);
     }
 
     public ITextComponent getDisplayName() {
@@ -37,6 +37,7 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
     private final boolean displayAsInt;
     private final DisplayFormat displayFormat;
     private final Function<Float, Float> missingRodFunction;
+    private final int ordinal;
 
     public ItemStat(float defaultValue, float minValue, float maxValue, TextFormatting nameColor, Properties properties) {
         this(defaultValue, minValue, maxValue, new Color(nameColor.getColor() != null ? nameColor.getColor() : Color.VALUE_WHITE), properties);
@@ -64,9 +65,20 @@ public class ItemStat extends ForgeRegistryEntry<ItemStat> implements IItemStat
             throw new IllegalArgumentException("Default value cannot be bigger than maximum value!");
         }
 
+        this.ordinal = ItemStats.STATS_IN_ORDER.size();
         ItemStats.STATS_IN_ORDER.add(this);
     }
 
+    /**
+     * Gets the index of this stat in {@link ItemStats#allStatsOrdered()}. Stable for the session,
+     * which makes it usable as an array index.
+     *
+     * @return The stat's ordinal
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
     /**
      * @return The stat name
      * @deprecated Use {@link #getRegistryName()} instead
@@ -3,7 +3,9 @@ package net.silentchaos512.gear.block.grader;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.inventory.container.Container;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.nbt.ListNBT;
 import net.minecraft.network.NetworkManager;
@@ -13,18 +15,26 @@ import net.minecraft.util.Direction;
 import net.minecraft.util.IIntArray;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TranslationTextComponent;
+import net.minecraftforge.items.ItemHandlerHelper;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterialInstance;
 import net.silentchaos512.gear.api.parts.MaterialGrade;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.init.ModTags;
 import net.silentchaos512.gear.init.ModTileEntities;
+import net.silentchaos512.gear.util.DataEpoch;
+import net.silentchaos512.gear.util.OutputSlotHelper;
 import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.InventoryUtils;
 import net.silentchaos512.lib.util.TimeUtils;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.IntStream;
 
 public class GraderTileEntity extends LockableSidedInventoryTileEntity implements ITickableTileEntity {
@@ -38,7 +48,15 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity implement
     private static final int[] SLOTS_ALL = IntStream.rangeClosed(0, INVENTORY_SIZE).toArray();
 
     @SyncVariable(name = "progress") private int progress = 0;
-    private boolean requireClientSync = false;
+
+    // Input material and catalyst tier, resolved again only when the item changes
+    private ItemStack resolvedInput = ItemStack.EMPTY;
+    @Nullable private MaterialInstance resolvedMaterial;
+    private Item resolvedCatalyst = Items.AIR;
+    private int resolvedCatalystTier;
+    private int resolvedEpoch = DataEpoch.get();
+    // Input item last sent to clients
+    private ItemStack syncedInput = ItemStack.EMPTY;
 
     private final IIntArray fields = new IIntArray() {
         @Override
@@ -65,37 +83,148 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity implement
     public void tick() {
         if (world == null) return;
 
+        tickGrading();
+
+        if (!world.isRemote) {
+            syncDisplayedItem();
+        }
+    }
+
+    private void tickGrading() {
+        if (world == null) return;
+
         // Don't waste time if there is no input or no free output slots
         ItemStack input = getInputStack();
         if (input.isEmpty()) return;
 
-        int outputSlot = getFreeOutputSlot();
-        if (outputSlot < 0) return;
+        boolean batchMode = CompiledConfig.common().graderBatchMode;
+        if (!batchMode && getFreeOutputSlot() < 0) return;
 
         ItemStack catalyst = getCatalystStack();
-        int catalystTier = getCatalystTier(catalyst);
+        int catalystTier = getCachedCatalystTier(catalyst);
         if (catalystTier < 1) return;
 
-        MaterialInstance material = MaterialInstance.from(input);
-        if (material != null && material.getGrade() != MaterialGrade.SSS) {
+        MaterialInstance material = getInputMaterial(input);
+        if (material != null) {
             if (progress < BASE_ANALYZE_TIME) {
                 ++progress;
             }
 
             if (progress >= BASE_ANALYZE_TIME && !world.isRemote) {
-                progress = 0;
-                catalyst.shrink(1);
-                tryGradeItem(input, catalystTier, material);
+                if (batchMode) {
+                    if (gradeBatch(input, catalyst, catalystTier, material)) {
+                        progress = 0;
+                    }
+                } else {
+                    progress = 0;
+                    catalyst.shrink(1);
+                    tryGradeItem(input, catalystTier, material);
+                }
             }
         } else {
             progress = 0;
         }
+    }
 
-//        if (requireClientSync) {
-//            BlockState state = world.getBlockState(pos);
-//            world.notifyBlockUpdate(pos, state, state, 3);
-//            requireClientSync = false;
-//        }
+    /**
+     * Grades as much of the input stack as the catalyst and output space allow, one catalyst per
+     * item. Items which are not upgraded stay in the input slot, as in normal mode. Like normal
+     * mode, nothing is graded unless there is a free output slot. Grading stops at the first
+     * upgraded item which does not fit, and its catalyst is not used.
+     *
+     * @return True if any catalyst was used, false if there is no output space
+     */
+    private boolean gradeBatch(ItemStack input, ItemStack catalyst, int catalystTier, IMaterialInstance material) {
+        if (getFreeOutputSlot() < 0) {
+            return false;
+        }
+
+        int attempts = Math.min(input.getCount(), catalyst.getCount());
+        Map<MaterialGrade, Integer> graded = new EnumMap<>(MaterialGrade.class);
+        int used = 0;
+
+        for (int i = 0; i < attempts; ++i) {
+            MaterialGrade targetGrade = MaterialGrade.selectWithCatalyst(SilentGear.random, catalystTier);
+            if (targetGrade.ordinal() > material.getGrade().ordinal()) {
+                graded.merge(targetGrade, 1, Integer::sum);
+                if (!OutputSlotHelper.insert(this, SLOTS_OUTPUT, createGradedStacks(input, graded), true)) {
+                    // Out of space, this roll is discarded and the rest are left for later
+                    graded.merge(targetGrade, -1, Integer::sum);
+                    break;
+                }
+            }
+            ++used;
+        }
+
+        if (used == 0) {
+            return false;
+        }
+
+        List<ItemStack> results = createGradedStacks(input, graded);
+        catalyst.shrink(used);
+        input.shrink(results.stream().mapToInt(ItemStack::getCount).sum());
+        OutputSlotHelper.insert(this, SLOTS_OUTPUT, results, false);
+        return true;
+    }
+
+    private static List<ItemStack> createGradedStacks(ItemStack input, Map<MaterialGrade, Integer> counts) {
+        List<ItemStack> ret = new ArrayList<>(counts.size());
+        counts.forEach((grade, count) -> {
+            if (count > 0) {
+                ItemStack stack = ItemHandlerHelper.copyStackWithSize(input, count);
+                grade.setGradeOnStack(stack);
+                ret.add(stack);
+            }
+        });
+        return ret;
+    }
+
+    private void syncDisplayedItem() {
+        if (world == null) return;
+
+        ItemStack input = getInputStack();
+        if (!isSameItem(input, syncedInput)) {
+            syncedInput = ItemHandlerHelper.copyStackWithSize(input, 1);
+            BlockState state = world.getBlockState(pos);
+            world.notifyBlockUpdate(pos, state, state, 3);
+        }
+    }
+
+    private void validateCaches() {
+        if (!DataEpoch.isCurrent(resolvedEpoch)) {
+            resolvedInput = ItemStack.EMPTY;
+            resolvedMaterial = null;
+            resolvedCatalyst = Items.AIR;
+            resolvedCatalystTier = 0;
+            resolvedEpoch = DataEpoch.get();
+        }
+    }
+
+    @Nullable
+    private MaterialInstance getInputMaterial(ItemStack input) {
+        if (input.isEmpty()) return null;
+
+        validateCaches();
+        if (!isSameItem(input, resolvedInput)) {
+            resolvedInput = ItemHandlerHelper.copyStackWithSize(input, 1);
+            resolvedMaterial = MaterialInstance.from(input);
+        }
+        return resolvedMaterial;
+    }
+
+    private int getCachedCatalystTier(ItemStack catalyst) {
+        if (catalyst.isEmpty()) return 0;
+
+        validateCaches();
+        if (catalyst.getItem() != resolvedCatalyst) {
+            resolvedCatalyst = catalyst.getItem();
+            resolvedCatalystTier = getCatalystTier(catalyst);
+        }
+        return resolvedCatalystTier;
+    }
+
+    private static boolean isSameItem(ItemStack a, ItemStack b) {
+        return ItemStack.areItemsEqual(a, b) && ItemStack.areItemStackTagsEqual(a, b);
     }
 
     private void tryGradeItem(ItemStack input, int catalystTier, IMaterialInstance material) {
@@ -123,11 +252,9 @@ public class GraderTileEntity extends LockableSidedInventoryTileEntity implement
 
     private ItemStack getInputStack() {
         ItemStack stack = getStackInSlot(INPUT_SLOT);
-        if (!stack.isEmpty()) {
-            MaterialInstance material = MaterialInstance.from(stack);
-            if (material != null && material.getGrade() != MaterialGrade.SSS) {
-                return stack;
-            }
+        MaterialInstance material = getInputMaterial(stack);
+        if (material != null && material.getGrade() != MaterialGrade.SSS) {
+            return stack;
         }
         return ItemStack.EMPTY;
     }
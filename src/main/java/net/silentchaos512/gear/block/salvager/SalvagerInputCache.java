@@ -0,0 +1,81 @@
+package net.silentchaos512.gear.block.salvager;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.RecipeManager;
+import net.minecraft.world.World;
+import net.silentchaos512.gear.crafting.recipe.salvage.SalvagingRecipe;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Indexes salvaging recipes by the items their ingredients accept, so finding the recipe for a
+ * salvager's input only tests the few recipes which could match, instead of every salvaging
+ * recipe. There is one index per recipe manager, built the first time it is needed, so a data pack
+ * reload (which creates a new recipe manager) starts fresh.
+ */
+public final class SalvagerInputCache {
+    private static final Map<RecipeManager, SalvagerInputCache> CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Map<Item, List<SalvagingRecipe>> recipesByItem = new HashMap<>();
+    // Recipes whose ingredient does not list any items, which must be tested for every input
+    private final List<SalvagingRecipe> unindexedRecipes = new ArrayList<>();
+
+    private SalvagerInputCache(RecipeManager recipeManager) {
+        for (IRecipe<?> recipe : recipeManager.getRecipes()) {
+            if (recipe instanceof SalvagingRecipe) {
+                SalvagingRecipe salvagingRecipe = (SalvagingRecipe) recipe;
+                ItemStack[] stacks = salvagingRecipe.getIngredient().getMatchingStacks();
+                if (stacks.length == 0) {
+                    unindexedRecipes.add(salvagingRecipe);
+                }
+                for (ItemStack stack : stacks) {
+                    List<SalvagingRecipe> list = recipesByItem.computeIfAbsent(stack.getItem(), item -> new ArrayList<>());
+                    if (!list.contains(salvagingRecipe)) {
+                        list.add(salvagingRecipe);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the salvaging recipe which matches the item in the first slot of the inventory.
+     *
+     * @param world     The world
+     * @param inventory The salvager inventory
+     * @return The matching recipe, or null if there is none
+     */
+    @Nullable
+    public static SalvagingRecipe getRecipe(World world, IInventory inventory) {
+        ItemStack input = inventory.getStackInSlot(0);
+        if (input.isEmpty()) return null;
+
+        RecipeManager recipeManager = world.getRecipeManager();
+        SalvagerInputCache cache = CACHES.computeIfAbsent(recipeManager, SalvagerInputCache::new);
+
+        for (SalvagingRecipe recipe : cache.recipesByItem.getOrDefault(input.getItem(), ImmutableList.of())) {
+            if (recipe.matches(inventory, world)) {
+                return recipe;
+            }
+        }
+        for (SalvagingRecipe recipe : cache.unindexedRecipes) {
+            if (recipe.matches(inventory, world)) {
+                return recipe;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Clears all caches. Needed on the client, where the recipe manager is reused when recipes are
+     * received from the server.
+     */
+    public static void clear() {
+        CACHES.clear();
+    }
+}
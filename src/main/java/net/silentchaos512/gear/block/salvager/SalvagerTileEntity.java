@@ -24,29 +24,35 @@ import net.minecraft.inventory.container.Container;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
+import net.minecraft.item.crafting.RecipeManager;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.tileentity.ITickableTileEntity;
 import net.minecraft.util.Direction;
 import net.minecraft.util.IIntArray;
 import net.minecraft.util.IItemProvider;
 import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.TranslationTextComponent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.parts.PartType;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.crafting.recipe.salvage.SalvagingRecipe;
-import net.silentchaos512.gear.init.ModRecipes;
 import net.silentchaos512.gear.init.ModTileEntities;
 import net.silentchaos512.gear.parts.PartData;
 import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.OutputSlotHelper;
 import net.silentchaos512.lib.tile.LockableSidedInventoryTileEntity;
 import net.silentchaos512.lib.tile.SyncVariable;
 import net.silentchaos512.lib.util.TimeUtils;
 import net.silentchaos512.utils.MathUtils;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Random;
 import java.util.stream.IntStream;
 
 public class SalvagerTileEntity extends LockableSidedInventoryTileEntity implements ITickableTileEntity {
@@ -59,6 +65,11 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity impleme
 
     @SyncVariable(name = "progress") int progress = 0;
 
+    // Last matched recipe, reused while the input item stays the same
+    @Nullable private SalvagingRecipe cachedRecipe;
+    @Nullable private Item cachedRecipeItem;
+    @Nullable private RecipeManager cachedRecipeManager;
+
     private final IIntArray fields = new IIntArray() {
         @Override
         public int get(int index) {
@@ -83,7 +94,23 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity impleme
     @Nullable
     private SalvagingRecipe getRecipe() {
         if (world == null) return null;
-        return world.getRecipeManager().getRecipe(ModRecipes.SALVAGING_TYPE, this, world).orElse(null);
+
+        ItemStack input = getStackInSlot(INPUT_SLOT);
+        if (input.isEmpty()) return null;
+
+        RecipeManager recipeManager = world.getRecipeManager();
+        if (cachedRecipe != null
+                && cachedRecipeItem == input.getItem()
+                && cachedRecipeManager == recipeManager
+                && cachedRecipe.matches(this, world)) {
+            return cachedRecipe;
+        }
+
+        SalvagingRecipe recipe = SalvagerInputCache.getRecipe(world, this);
+        cachedRecipe = recipe;
+        cachedRecipeItem = input.getItem();
+        cachedRecipeManager = recipeManager;
+        return recipe;
     }
 
     @Override
@@ -102,7 +129,11 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity impleme
                 ++progress;
             }
 
-            if (progress >= BASE_WORK_TIME && areAllOutputSlotsFree()) {
+            if (progress >= BASE_WORK_TIME && CompiledConfig.common().salvagerBulkMode) {
+                if (salvageBulk(recipe, input)) {
+                    progress = 0;
+                }
+            } else if (progress >= BASE_WORK_TIME && areAllOutputSlotsFree()) {
                 for (ItemStack stack : getSalvagedPartsWithChance(recipe, input)) {
                     int slot = getFreeOutputSlot();
                     if (slot > 0) {
@@ -153,6 +184,88 @@ public class SalvagerTileEntity extends LockableSidedInventoryTileEntity impleme
         return builder.build();
     }
 
+    /**
+     * Salvages as much of the input stack as will fit in the output slots. Instead of rolling for
+     * each item, the number of items kept for each result is drawn from a binomial distribution.
+     *
+     * @param recipe The recipe
+     * @param input  The input stack
+     * @return True if anything was salvaged, false if there is not enough output space
+     */
+    private boolean salvageBulk(SalvagingRecipe recipe, ItemStack input) {
+        List<ItemStack> resultsPerItem = recipe.getPossibleResults(this);
+        int count = input.getCount();
+        while (count > 0 && !OutputSlotHelper.insert(this, SLOTS_OUTPUT, multiplyCounts(resultsPerItem, count), true)) {
+            count /= 2;
+        }
+        if (count < 1) {
+            return false;
+        }
+
+        double lossRate = getLossRate(input);
+        List<ItemStack> results = new ArrayList<>();
+        for (ItemStack part : resultsPerItem) {
+            PartData partData = PartData.from(part);
+            double partLossRate = partData != null
+                    ? partData.getPart().getSalvageLossRate(input, partData, lossRate)
+                    : lossRate;
+            int kept = binomial(SilentGear.random, part.getCount() * count, 1.0 - partLossRate);
+            if (kept > 0) {
+                ItemStack copy = part.copy();
+                copy.setCount(kept);
+                results.add(copy);
+            }
+        }
+
+        if (!OutputSlotHelper.insert(this, SLOTS_OUTPUT, results, false)) {
+            // Should not happen, the maximum possible output was checked above
+            SilentGear.LOGGER.warn("Items lost in salvager: {}", results);
+        }
+
+        input.shrink(count);
+        if (input.isEmpty()) {
+            setInventorySlotContents(INPUT_SLOT, ItemStack.EMPTY);
+        }
+        return true;
+    }
+
+    private static List<ItemStack> multiplyCounts(Collection<ItemStack> stacks, int multiplier) {
+        List<ItemStack> ret = new ArrayList<>(stacks.size());
+        for (ItemStack stack : stacks) {
+            ItemStack copy = stack.copy();
+            copy.setCount(stack.getCount() * multiplier);
+            ret.add(copy);
+        }
+        return ret;
+    }
+
+    /**
+     * Draws the number of successes in {@code trials} independent trials with probability
+     * {@code p}. Small cases are counted exactly by skipping ahead geometrically, larger ones use a
+     * normal approximation.
+     */
+    private static int binomial(Random random, int trials, double p) {
+        if (trials <= 0 || p <= 0) return 0;
+        if (p >= 1) return trials;
+
+        double variance = trials * p * (1 - p);
+        if (variance < 25) {
+            double q = Math.min(p, 1 - p);
+            double logMiss = Math.log(1 - q);
+            int successes = 0;
+            long position = 0;
+            while (true) {
+                position += (long) Math.floor(Math.log(1 - random.nextDouble()) / logMiss) + 1;
+                if (position > trials) break;
+                ++successes;
+            }
+            return q == p ? successes : trials - successes;
+        }
+
+        int value = (int) Math.round(trials * p + random.nextGaussian() * Math.sqrt(variance));
+        return MathHelper.clamp(value, 0, trials);
+    }
+
     private static double getLossRate(ItemStack stack) {
         int maxDamage = stack.getMaxDamage();
         double min = Config.Common.salvagerMinLossRate.get();
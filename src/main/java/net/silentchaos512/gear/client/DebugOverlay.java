@@ -37,8 +37,10 @@ import net.minecraftforge.common.ToolType;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.item.ICoreTool;
 import net.silentchaos512.gear.client.util.ModelPropertiesHelper;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.event.GearEvents;
 import net.silentchaos512.gear.item.gear.CoreCrossbow;
+import net.silentchaos512.gear.util.CacheMetrics;
 import net.silentchaos512.gear.util.Const;
 import net.silentchaos512.gear.util.TraitHelper;
 import net.silentchaos512.lib.client.gui.DebugRenderOverlay;
@@ -56,6 +58,11 @@ public class DebugOverlay extends DebugRenderOverlay {
     public List<String> getDebugText() {
         List<String> list = new ArrayList<>();
 
+        if (CompiledConfig.client().showCachePanel) {
+            addCacheInfo(list);
+        }
+        if (!SilentGear.isDevBuild()) return list;
+
         Minecraft mc = Minecraft.getInstance();
         ClientPlayerEntity player = mc.player;
         if (player == null) return list;
@@ -116,6 +123,13 @@ public class DebugOverlay extends DebugRenderOverlay {
         return list;
     }
 
+    private static void addCacheInfo(List<String> list) {
+        CacheMetrics.getCaches().forEach((name, stats) ->
+                list.add(String.format("%s: %.0f%% hit, %d entries, %d evicted", name, 100 * stats.getHitRate(), stats.size, stats.evictions)));
+        list.add(String.format("Model bake: %.2f ms avg (%d)", CacheMetrics.MODEL_BAKE_TIME.getAverageMillis(), CacheMetrics.MODEL_BAKE_TIME.getSampleCount()));
+        list.add(String.format("Recalculate: %.2f ms avg (%d)", CacheMetrics.RECALCULATE_TIME.getAverageMillis(), CacheMetrics.RECALCULATE_TIME.getSampleCount()));
+    }
+
     private static void addAttributeInfo(List<String> list, PlayerEntity player, Attribute attribute) {
         ModifiableAttributeInstance attribute1 = player.getAttribute(attribute);
         list.add(String.format("%s=%.1f (%dx mods)", attribute, attribute1.getValue(), attribute1.getModifierListCopy().size()));
@@ -133,6 +147,6 @@ public class DebugOverlay extends DebugRenderOverlay {
 
     @Override
     public boolean isHidden() {
-        return !SilentGear.isDevBuild();
+        return !SilentGear.isDevBuild() && !CompiledConfig.client().showCachePanel;
     }
 }
@@ -52,6 +52,10 @@ public class KeyTracker {
         );
     }
 
+    public static int getMaterialCycleCount() {
+        return materialCycleCount;
+    }
+
     public static int getMaterialCycleIndex(int total) {
         int i = materialCycleCount % total;
         return i < 0 ? i + total : i;
@@ -1,47 +1,90 @@
 package net.silentchaos512.gear.client.event;
 
-import com.mojang.blaze3d.platform.GlStateManager;
-import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.matrix.MatrixStack;
+import com.mojang.blaze3d.vertex.IVertexBuilder;
+import com.mojang.blaze3d.vertex.MatrixApplyingVertexBuilder;
+import net.minecraft.block.BlockState;
 import net.minecraft.client.Minecraft;
-import net.minecraft.client.renderer.BufferBuilder;
-import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.BlockRendererDispatcher;
+import net.minecraft.client.renderer.IRenderTypeBuffer;
+import net.minecraft.client.renderer.model.ModelBakery;
+import net.minecraft.client.world.ClientWorld;
 import net.minecraft.entity.Entity;
-import net.minecraft.resources.IResourceManager;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.BlockRayTraceResult;
+import net.minecraft.util.math.vector.Vector3d;
 import net.minecraftforge.client.event.RenderWorldLastEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
-import net.minecraftforge.resource.IResourceType;
-import net.minecraftforge.resource.ISelectiveResourceReloadListener;
+import net.silentchaos512.gear.util.IAOETool;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.function.Predicate;
 
-public final class ExtraBlockBreakHandler implements ISelectiveResourceReloadListener {
-    public static final ExtraBlockBreakHandler INSTANCE = new ExtraBlockBreakHandler(Minecraft.getInstance());
+/**
+ * Draws the crack overlay on the extra blocks broken by AOE tools. Vanilla only draws it on the
+ * targeted block. Progress is received from the server (see {@link
+ * net.silentchaos512.gear.network.MessageExtraBlockBreak}), and the extra blocks are worked out
+ * once when a player starts breaking a block. All overlays are drawn in one pass, using the same
+ * buffers vanilla uses for its own crack overlay.
+ */
+public final class ExtraBlockBreakHandler {
+    public static final ExtraBlockBreakHandler INSTANCE = new ExtraBlockBreakHandler();
+
+    // Same as vanilla's limit for block crack overlays
+    private static final double MAX_RENDER_DISTANCE_SQ = 32 * 32;
+    private static final int MAX_AGE_TICKS = 400;
 
     private final Map<Integer, DestroyExtraBlocksProgress> extraDamagedBlocks = new HashMap<>();
-    private Minecraft mc;
-//    private final TextureManager renderEngine;
-//    private final TextureAtlasSprite[] destroyBlockIcons = new TextureAtlasSprite[10];
-
-    private ExtraBlockBreakHandler(Minecraft mcIn) {
-        this.mc = mcIn;
-//        this.renderEngine = mcIn.getTextureManager();
-//        ((IReloadableResourceManager) mc.getResourceManager()).addReloadListener(this);
-    }
+
+    private ExtraBlockBreakHandler() {}
 
     @SubscribeEvent
     public void renderBlockBreakAnim(RenderWorldLastEvent event) {
-/*        RenderSystem.enableBlend();
-        RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
-        this.mc.getTextureManager().getTexture(AtlasTexture.LOCATION_BLOCKS_TEXTURE).setBlurMipmap(false, false);
-        this.drawBlockDamageTexture(Tessellator.getInstance(), Tessellator.getInstance().getBuffer(), this.mc.getRenderViewEntity(), event.getPartialTicks());
-        this.mc.getTextureManager().getTexture(AtlasTexture.LOCATION_BLOCKS_TEXTURE).restoreLastBlurMipmap();
-        RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
-        RenderSystem.disableBlend();*/
+        if (this.extraDamagedBlocks.isEmpty()) return;
+
+        Minecraft mc = Minecraft.getInstance();
+        ClientWorld world = mc.world;
+        if (world == null) return;
+
+        if (world.getGameTime() % 20 == 0) {
+            cleanupExtraDamagedBlocks(world.getGameTime());
+        }
+
+        MatrixStack matrixStack = event.getMatrixStack();
+        Vector3d camera = mc.gameRenderer.getActiveRenderInfo().getProjectedView();
+        BlockRendererDispatcher dispatcher = mc.getBlockRendererDispatcher();
+        IRenderTypeBuffer.Impl buffers = mc.getRenderTypeBuffers().getCrumblingBufferSource();
+
+        for (DestroyExtraBlocksProgress progress : this.extraDamagedBlocks.values()) {
+            for (BlockPos pos : progress.getPositions()) {
+                double x = pos.getX() - camera.x;
+                double y = pos.getY() - camera.y;
+                double z = pos.getZ() - camera.z;
+                if (x * x + y * y + z * z > MAX_RENDER_DISTANCE_SQ) continue;
+
+                BlockState state = world.getBlockState(pos);
+                if (state.isAir(world, pos)) continue;
+
+                matrixStack.push();
+                matrixStack.translate(x, y, z);
+                MatrixStack.Entry entry = matrixStack.getLast();
+                IVertexBuilder builder = new MatrixApplyingVertexBuilder(
+                        buffers.getBuffer(ModelBakery.DESTROY_RENDER_TYPES.get(progress.getPartialBlockDamage())),
+                        entry.getMatrix(),
+                        entry.getNormal());
+                dispatcher.renderBlockDamage(state, pos, world, matrixStack, builder);
+                matrixStack.pop();
+            }
+        }
+
+        // Draws everything added above, one draw call per progress stage
+        buffers.finish();
     }
 
     @SubscribeEvent
@@ -54,156 +97,89 @@ public final class ExtraBlockBreakHandler implements ISelectiveResourceReloadLis
         this.extraDamagedBlocks.clear();
     }
 
-    private static void preRenderDamagedBlocks() {
-        RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.DST_COLOR, GlStateManager.DestFactor.SRC_COLOR, GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ZERO);
-        RenderSystem.enableBlend();
-        RenderSystem.color4f(1.0F, 1.0F, 1.0F, 0.5F);
-        RenderSystem.polygonOffset(-3.0F, -3.0F);
-        RenderSystem.enablePolygonOffset();
-        RenderSystem.alphaFunc(516, 0.1F);
-        RenderSystem.enableAlphaTest();
-        RenderSystem.pushMatrix();
-    }
-
-    private static void postRenderDamagedBlocks() {
-        RenderSystem.disableAlphaTest();
-        RenderSystem.polygonOffset(0.0F, 0.0F);
-        RenderSystem.disablePolygonOffset();
-        RenderSystem.enableAlphaTest();
-        RenderSystem.depthMask(true);
-        RenderSystem.popMatrix();
+    private void cleanupExtraDamagedBlocks(long gameTime) {
+        this.extraDamagedBlocks.values().removeIf(progress -> gameTime - progress.getCreationWorldTick() > MAX_AGE_TICKS);
     }
 
-    private void drawBlockDamageTexture(Tessellator tessellatorIn, BufferBuilder bufferBuilderIn, Entity entityIn, float partialTicks) {
-/*        double d3 = entityIn.lastTickPosX + (entityIn.func_226277_ct_() - entityIn.lastTickPosX) * (double) partialTicks;
-        double d4 = entityIn.lastTickPosY + (entityIn.func_226278_cu_() - entityIn.lastTickPosY) * (double) partialTicks;
-        double d5 = entityIn.lastTickPosZ + (entityIn.func_226281_cx_() - entityIn.lastTickPosZ) * (double) partialTicks;
-
-        if (this.mc.world.getGameTime() % 20 == 0) {
-            this.cleanupExtraDamagedBlocks();
+    /**
+     * Updates the break progress of a player.
+     *
+     * @param breakerId The entity ID of the player
+     * @param pos       The block the player is breaking
+     * @param face      The face of the block the player is looking at
+     * @param progress  Break progress from 0 to 9, or anything else to remove
+     */
+    public void sendBlockBreakProgress(int breakerId, BlockPos pos, Direction face, int progress) {
+        ClientWorld world = Minecraft.getInstance().world;
+        if (world == null || progress < 0 || progress >= 10) {
+            this.extraDamagedBlocks.remove(breakerId);
+            return;
         }
 
-        if (!this.extraDamagedBlocks.isEmpty()) {
-            this.renderEngine.bindTexture(AtlasTexture.LOCATION_BLOCKS_TEXTURE);
-            ExtraBlockBreakHandler.preRenderDamagedBlocks();
-            bufferBuilderIn.begin(7, DefaultVertexFormats.BLOCK);
-            bufferBuilderIn.setTranslation(-d3, -d4, -d5);
-            bufferBuilderIn.noColor();
-
-            for (Entry<Integer, DestroyExtraBlocksProgress> entry : this.extraDamagedBlocks.entrySet()) {
-                DestroyExtraBlocksProgress destroyblockprogress = entry.getValue();
-                BlockPos[] blockpositions = destroyblockprogress.getPositions();
-                for (int i = 0; i < blockpositions.length; i++) {
-                    BlockPos blockpos = blockpositions[i];
-                    double d6 = (double) blockpos.getX() - d3;
-                    double d7 = (double) blockpos.getY() - d4;
-                    double d8 = (double) blockpos.getZ() - d5;
-                    Block block = this.mc.world.getBlockState(blockpos).getBlock();
-                    TileEntity te = this.mc.world.getTileEntity(blockpos);
-                    boolean hasBreak = block instanceof ChestBlock || block instanceof EnderChestBlock || block instanceof AbstractSignBlock || block instanceof SkullBlock;
-                    if (!hasBreak)
-                        hasBreak = te != null && te.canRenderBreaking();
-
-                    if (!hasBreak) {
-                        if (d6 * d6 + d7 * d7 + d8 * d8 > 16384) {
-                            this.extraDamagedBlocks.remove(entry.getKey());
-                        } else {
-                            BlockState iblockstate = mc.world.getBlockState(blockpos);
-
-                            if (iblockstate.getMaterial() != Material.AIR) {
-                                int k1 = destroyblockprogress.getPartialBlockDamage();
-                                TextureAtlasSprite textureatlassprite = this.destroyBlockIcons[k1];
-                                BlockRendererDispatcher blockrendererdispatcher = this.mc.getBlockRendererDispatcher();
-                                blockrendererdispatcher.renderBlockDamage(iblockstate, blockpos, textureatlassprite, this.mc.world);
-                            }
-                        }
-                    }
-                }
-            }
-
-            tessellatorIn.draw();
-            bufferBuilderIn.setTranslation(0.0D, 0.0D, 0.0D);
-            ExtraBlockBreakHandler.postRenderDamagedBlocks();
-        }*/
-    }
-
-    private void cleanupExtraDamagedBlocks() {
-        for (Entry<Integer, DestroyExtraBlocksProgress> entry : this.extraDamagedBlocks.entrySet()) {
-            DestroyExtraBlocksProgress destroyblockprogress = entry.getValue();
-            int k1 = destroyblockprogress.getCreationWorldTick();
-
-            if (this.mc.world.getGameTime() - k1 > 400) {
-                this.extraDamagedBlocks.remove(entry.getKey());
-            }
+        DestroyExtraBlocksProgress destroyProgress = this.extraDamagedBlocks.get(breakerId);
+        if (destroyProgress == null || !destroyProgress.isBreaking(pos, face)) {
+            destroyProgress = new DestroyExtraBlocksProgress(pos, face, getExtraBlocks(world, breakerId, pos, face));
+            this.extraDamagedBlocks.put(breakerId, destroyProgress);
         }
-    }
 
-    @Override
-    public void onResourceManagerReload(IResourceManager resourceManager, Predicate<IResourceType> resourcePredicate) {
-/*        AtlasTexture texturemap = this.mc.getTextureMap();
-        if (texturemap == null) return;
-
-        for (int i = 0; i < this.destroyBlockIcons.length; ++i) {
-            this.destroyBlockIcons[i] = texturemap.getAtlasSprite("minecraft:blocks/destroy_stage_" + i);
-        }*/
+        destroyProgress.setPartialBlockDamage(progress);
+        destroyProgress.setWorldTick(world.getGameTime());
     }
 
-    public void sendBlockBreakProgress(int breakerId, BlockPos[] positions, int progress) {
-        if (positions.length > 0 && progress >= 0 && progress < 10) {
-            DestroyExtraBlocksProgress destroyextrablocksprogress = new DestroyExtraBlocksProgress(breakerId, positions);
-            this.extraDamagedBlocks.put(Integer.valueOf(breakerId), destroyextrablocksprogress);
-
-            destroyextrablocksprogress.setPartialBlockDamage(progress);
-            destroyextrablocksprogress.setWorldTick((int) this.mc.world.getGameTime());
-        } else {
-            this.extraDamagedBlocks.remove(breakerId);
+    private static List<BlockPos> getExtraBlocks(ClientWorld world, int breakerId, BlockPos pos, Direction face) {
+        Entity entity = world.getEntityByID(breakerId);
+        if (entity instanceof PlayerEntity) {
+            PlayerEntity player = (PlayerEntity) entity;
+            ItemStack stack = player.getHeldItemMainhand();
+            if (stack.getItem() instanceof IAOETool) {
+                Vector3d hitVec = new Vector3d(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+                BlockRayTraceResult rt = new BlockRayTraceResult(hitVec, face, pos, false);
+                return ((IAOETool) stack.getItem()).getExtraBlocks(world, rt, player, stack);
+            }
         }
+        return Collections.emptyList();
     }
 
     private static class DestroyExtraBlocksProgress {
-        private final int miningPlayerEntId;
-        private final BlockPos[] positions;
+        private final BlockPos pos;
+        private final Direction face;
+        private final List<BlockPos> positions;
         /**
-         * damage ranges from 1 to 10. -1 causes the client to delete the partial block renderer.
+         * damage ranges from 0 to 9
          */
         private int partialBlockProgress;
         /**
-         * keeps track of how many ticks this PartiallyDestroyedBlock already exists
+         * world tick of the last progress update
          */
-        private int createdAtWorldTick;
+        private long createdAtWorldTick;
 
-        public DestroyExtraBlocksProgress(int miningPlayerEntIdIn, BlockPos... positionsIn) {
-            this.miningPlayerEntId = miningPlayerEntIdIn;
-            this.positions = positionsIn;
+        DestroyExtraBlocksProgress(BlockPos pos, Direction face, List<BlockPos> positions) {
+            this.pos = pos;
+            this.face = face;
+            this.positions = positions;
         }
 
-        public BlockPos[] getPositions() {
-            return this.positions;
+        boolean isBreaking(BlockPos pos, Direction face) {
+            return this.pos.equals(pos) && this.face == face;
         }
 
-        public void setPartialBlockDamage(int damage) {
-            if (damage > 10) {
-                damage = 10;
-            }
+        List<BlockPos> getPositions() {
+            return this.positions;
+        }
 
-            this.partialBlockProgress = damage;
+        void setPartialBlockDamage(int damage) {
+            this.partialBlockProgress = Math.min(damage, 9);
         }
 
-        public int getPartialBlockDamage() {
+        int getPartialBlockDamage() {
             return this.partialBlockProgress;
         }
 
-        /**
-         * saves the current world tick into the DestroyExtraBlocksProgress
-         */
-        public void setWorldTick(int createdAtWorldTickIn) {
+        void setWorldTick(long createdAtWorldTickIn) {
             this.createdAtWorldTick = createdAtWorldTickIn;
         }
 
-        /**
-         * retrieves the 'date' at which the DestroyExtraBlocksProgress was created
-         */
-        public int getCreationWorldTick() {
+        long getCreationWorldTick() {
             return this.createdAtWorldTick;
         }
     }
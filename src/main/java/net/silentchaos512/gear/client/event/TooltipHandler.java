@@ -1,5 +1,6 @@
 package net.silentchaos512.gear.client.event;
 
+import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.text.*;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
@@ -13,7 +14,9 @@ import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.stats.StatModifierMap;
 import net.silentchaos512.gear.client.KeyTracker;
+import net.silentchaos512.gear.client.util.SearchTooltips;
 import net.silentchaos512.gear.client.util.TextListBuilder;
+import net.silentchaos512.gear.client.util.TooltipCache;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.parts.AbstractGearPart;
@@ -57,58 +60,79 @@ public final class TooltipHandler {
 
         ItemStack stack = event.getItemStack();
 
+        if (SearchTooltips.isIndexing(event.getPlayer())) {
+            buildSearchTooltip(stack, event.getToolTip());
+            return;
+        }
+
+        TooltipCache.addLines(TooltipCache.SECTION_TOOLTIP_EVENT, stack, event.getToolTip(), event.getFlags(), lines -> buildTooltip(stack, lines, event.getFlags()));
+    }
+
+    private static void buildSearchTooltip(ItemStack stack, List<ITextComponent> tooltip) {
+        MaterialInstance material = MaterialInstance.from(stack);
+        if (material != null) {
+            SearchTooltips.addMaterialLines(material, tooltip);
+            return;
+        }
+
+        PartData part = PartData.from(stack);
+        if (part != null) {
+            SearchTooltips.addPartLines(part, tooltip);
+        }
+    }
+
+    private static void buildTooltip(ItemStack stack, List<ITextComponent> tooltip, ITooltipFlag flag) {
         MaterialInstance material = MaterialInstance.from(stack);
         if (material != null) {
-            onMaterialTooltip(event, stack, material);
+            onMaterialTooltip(tooltip, flag, stack, material);
             return;
         }
 
         PartData part = PartData.from(stack);
         if (part != null /*&& !part.isBlacklisted(stack)*/) {
-            onPartTooltip(event, stack, part);
+            onPartTooltip(tooltip, flag, stack, part);
             return;
         }
 
         // Nerfed gear?
         if (Config.Common.isNerfedItem(stack.getItem())) {
-            List<ITextComponent> toolTip = event.getToolTip();
-            toolTip.add(Math.min(1, toolTip.size()), new TranslationTextComponent("misc.silentgear.poorlyMade").mergeStyle(TextFormatting.RED));
+            tooltip.add(Math.min(1, tooltip.size()), new TranslationTextComponent("misc.silentgear.poorlyMade").mergeStyle(TextFormatting.RED));
         }
     }
 
-    private static void onMaterialTooltip(ItemTooltipEvent event, ItemStack stack, MaterialInstance material) {
+    private static void onMaterialTooltip(List<ITextComponent> tooltip, ITooltipFlag flag, ItemStack stack, MaterialInstance material) {
         boolean keyHeld = KeyTracker.isDisplayStatsDown();
 
         if (keyHeld) {
-            event.getToolTip().add(TextUtil.withColor(TextUtil.misc("tooltip.material"), Color.GOLD));
+            tooltip.add(TextUtil.withColor(TextUtil.misc("tooltip.material"), Color.GOLD));
         } else {
-            event.getToolTip().add(TextUtil.withColor(TextUtil.misc("tooltip.material"), Color.GOLD)
+            tooltip.add(TextUtil.withColor(TextUtil.misc("tooltip.material"), Color.GOLD)
                     .append(new StringTextComponent(" ")
                             .append(TextUtil.withColor(TextUtil.keyBinding(KeyTracker.DISPLAY_STATS), TextFormatting.GRAY))));
         }
 
-        if (event.getFlags().isAdvanced()) {
-            event.getToolTip().add(new StringTextComponent("Material ID: " + material.getMaterialId()).mergeStyle(TextFormatting.DARK_GRAY));
+        if (flag.isAdvanced()) {
+            tooltip.add(new StringTextComponent("Material ID: " + material.getMaterialId()).mergeStyle(TextFormatting.DARK_GRAY));
         }
 
         if (keyHeld) {
-            getGradeLine(event, material.getGrade());
+            getGradeLine(tooltip, material.getGrade());
 
             List<PartType> partTypes = new ArrayList<>(material.getPartTypes());
             if (!partTypes.isEmpty()) {
                 int index = KeyTracker.getMaterialCycleIndex(partTypes.size());
                 PartType partType = partTypes.get(index);
-                event.getToolTip().add(buildPartTypeHeader(partTypes, partType));
-                event.getToolTip().add(TextUtil.withColor(TextUtil.misc("tier", material.getTier(partType)), Color.DEEPSKYBLUE));
+                tooltip.add(buildPartTypeHeader(partTypes, partType));
+                tooltip.add(TextUtil.withColor(TextUtil.misc("tier", material.getTier(partType)), Color.DEEPSKYBLUE));
 
-                getMaterialTraitLines(event, partType, material);
+                getMaterialTraitLines(tooltip, partType, material);
 
-                event.getToolTip().add(new TranslationTextComponent("misc.silentgear.tooltip.stats").mergeStyle(TextFormatting.GOLD));
-                getMaterialStatLines(event, partType, material);
+                tooltip.add(new TranslationTextComponent("misc.silentgear.tooltip.stats").mergeStyle(TextFormatting.GOLD));
+                getMaterialStatLines(tooltip, flag, partType, material);
             }
         } else {
             if (material.getGrade() != MaterialGrade.NONE) {
-                getGradeLine(event, material.getGrade());
+                getGradeLine(tooltip, material.getGrade());
             }
         }
     }
@@ -127,39 +151,39 @@ public final class TooltipHandler {
         return ret.append(keyHint);
     }
 
-    private static void onPartTooltip(ItemTooltipEvent event, ItemStack stack, PartData part) {
+    private static void onPartTooltip(List<ITextComponent> tooltip, ITooltipFlag flag, ItemStack stack, PartData part) {
 
         // Type, tier
-        event.getToolTip().add(TextUtil.withColor(part.getType().getDisplayName(part.getTier()), Color.AQUAMARINE));
+        tooltip.add(TextUtil.withColor(part.getType().getDisplayName(part.getTier()), Color.AQUAMARINE));
 
-        if (event.getFlags().isAdvanced() && KeyTracker.isControlDown()) {
-            event.getToolTip().add(new StringTextComponent("* Part ID: " + part.getPartId()).mergeStyle(TextFormatting.DARK_GRAY));
-            event.getToolTip().add(new StringTextComponent("* Part data pack: " + part.getPart().getPackName()).mergeStyle(TextFormatting.DARK_GRAY));
+        if (flag.isAdvanced() && KeyTracker.isControlDown()) {
+            tooltip.add(new StringTextComponent("* Part ID: " + part.getPartId()).mergeStyle(TextFormatting.DARK_GRAY));
+            tooltip.add(new StringTextComponent("* Part data pack: " + part.getPart().getPackName()).mergeStyle(TextFormatting.DARK_GRAY));
         }
 
         // Traits
         List<PartTraitInstance> traits = part.getTraits().stream()
-                .filter(inst -> inst.getTrait().showInTooltip(event.getFlags()))
+                .filter(inst -> inst.getTrait().showInTooltip(flag))
                 .collect(Collectors.toList());
         int numTraits = traits.size();
         int traitIndex = getTraitDisplayIndex(numTraits);
         int i = 0;
         for (PartTraitInstance inst : traits) {
             if (traitIndex < 0 || traitIndex == i) {
-                inst.addInformation(event.getToolTip(), event.getFlags());
+                inst.addInformation(tooltip, flag);
             }
             ++i;
         }
 
         if (KeyTracker.isControlDown()) {
-            event.getToolTip().add(new TranslationTextComponent("misc.silentgear.tooltip.stats")
+            tooltip.add(new TranslationTextComponent("misc.silentgear.tooltip.stats")
                     .mergeStyle(TextFormatting.GOLD)
                     .append(new StringTextComponent(" (Silent Gear)")
                             .mergeStyle(TextFormatting.RESET)
                             .mergeStyle(TextFormatting.ITALIC)));
-            getPartStatLines(event, stack, part);
+            getPartStatLines(tooltip, flag, stack, part);
         } else {
-            event.getToolTip().add(new TranslationTextComponent("misc.silentgear.tooltip.ctrlForStats").mergeStyle(TextFormatting.GOLD));
+            tooltip.add(new TranslationTextComponent("misc.silentgear.tooltip.ctrlForStats").mergeStyle(TextFormatting.GOLD));
         }
 
         // Gear type blacklist?
@@ -169,7 +193,7 @@ public final class TooltipHandler {
                 int index = (ClientTicks.ticksInGame() / 20) % blacklist.size();
                 GearType gearType = blacklist.get(index);
                 ITextComponent blacklistedType = gearType.getDisplayName();
-                event.getToolTip().add(new TranslationTextComponent("misc.silentgear.tooltip.blacklist", blacklistedType).mergeStyle(TextFormatting.RED));
+                tooltip.add(new TranslationTextComponent("misc.silentgear.tooltip.blacklist", blacklistedType).mergeStyle(TextFormatting.RED));
             }
         }
     }
@@ -180,37 +204,37 @@ public final class TooltipHandler {
         return ClientTicks.ticksInGame() / 20 % numTraits;
     }
 
-    private static void getGradeLine(ItemTooltipEvent event, MaterialGrade grade) {
+    private static void getGradeLine(List<ITextComponent> tooltip, MaterialGrade grade) {
         ITextComponent text = TextUtil.withColor(grade.getDisplayName(), Color.DEEPSKYBLUE);
-        event.getToolTip().add(new TranslationTextComponent("part.silentgear.gradeOnPart", text));
+        tooltip.add(new TranslationTextComponent("part.silentgear.gradeOnPart", text));
     }
 
-    private static void getMaterialTraitLines(ItemTooltipEvent event, PartType partType, MaterialInstance material) {
-        material.getMaterial().getTraits(partType).forEach(t -> event.getToolTip().add(t.getDisplayName()));
+    private static void getMaterialTraitLines(List<ITextComponent> tooltip, PartType partType, MaterialInstance material) {
+        material.getMaterial().getTraits(partType).forEach(t -> tooltip.add(t.getDisplayName()));
     }
 
-    private static void getPartStatLines(ItemTooltipEvent event, ItemStack stack, PartData part) {
+    private static void getPartStatLines(List<ITextComponent> tooltip, ITooltipFlag flag, ItemStack stack, PartData part) {
         TextListBuilder builder = new TextListBuilder();
         for (ItemStat stat : ItemStats.allStatsOrdered()) {
             Collection<StatInstance> modifiers = part.getStatModifiers(ItemStack.EMPTY, stat);
-            getStatTooltipLine(event, part.getType(), stat, modifiers).ifPresent(builder::add);
+            getStatTooltipLine(flag, part.getType(), stat, modifiers).ifPresent(builder::add);
         }
-        event.getToolTip().addAll(builder.build());
+        tooltip.addAll(builder.build());
     }
 
-    private static void getMaterialStatLines(ItemTooltipEvent event, PartType partType, MaterialInstance material) {
+    private static void getMaterialStatLines(List<ITextComponent> tooltip, ITooltipFlag flag, PartType partType, MaterialInstance material) {
         TextListBuilder builder = new TextListBuilder();
         for (ItemStat stat : ItemStats.allStatsOrdered()) {
             Collection<StatInstance> modifiers = material.getStatModifiers(stat, partType);
-            getStatTooltipLine(event, partType, stat, modifiers).ifPresent(builder::add);
+            getStatTooltipLine(flag, partType, stat, modifiers).ifPresent(builder::add);
         }
-        event.getToolTip().addAll(builder.build());
+        tooltip.addAll(builder.build());
     }
 
-    private static Optional<IFormattableTextComponent> getStatTooltipLine(ItemTooltipEvent event, PartType partType, ItemStat stat, Collection<StatInstance> modifiers) {
+    private static Optional<IFormattableTextComponent> getStatTooltipLine(ITooltipFlag flag, PartType partType, ItemStat stat, Collection<StatInstance> modifiers) {
         if (!modifiers.isEmpty()) {
             StatInstance inst = stat.computeForDisplay(0, modifiers);
-            if (inst.shouldList(partType, stat, event.getFlags().isAdvanced())) {
+            if (inst.shouldList(partType, stat, flag.isAdvanced())) {
                 boolean isZero = inst.getValue() == 0;
                 Color nameColor = isZero ? MC_DARK_GRAY : stat.getNameColor();
                 Color statColor = isZero ? MC_DARK_GRAY : Color.WHITE;
@@ -13,9 +13,7 @@ import net.minecraftforge.resource.VanillaResourceType;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterial;
 import net.silentchaos512.gear.api.material.IMaterialDisplay;
-import net.silentchaos512.gear.client.model.fragment.FragmentModelLoader;
-import net.silentchaos512.gear.client.model.gear.GearModelLoader;
-import net.silentchaos512.gear.client.model.part.CompoundPartModelLoader;
+import net.silentchaos512.gear.util.DataEpoch;
 import net.silentchaos512.gear.util.IEarlySelectiveReloadListener;
 import org.apache.commons.io.IOUtils;
 
@@ -47,10 +45,6 @@ public final class MaterialDisplayManager implements IEarlySelectiveReloadListen
                 MAP.clear();
                 ERROR_LIST.clear();
 
-                CompoundPartModelLoader.clearCaches();
-                FragmentModelLoader.clearCaches();
-                GearModelLoader.clearCaches();
-
                 String packName = "ERROR";
                 for (ResourceLocation id : resources) {
                     String path = id.getPath().substring(ASSETS_PATH.length() + 1, id.getPath().length() - ".json".length());
@@ -74,6 +68,9 @@ public final class MaterialDisplayManager implements IEarlySelectiveReloadListen
                         ERROR_LIST.add(String.format("%s (%s)", name, packName));
                     }
                 }
+
+                // Model caches are registered as epoch listeners
+                DataEpoch.bump("material displays reloaded");
             }
         }
     }
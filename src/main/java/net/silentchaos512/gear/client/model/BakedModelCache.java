@@ -0,0 +1,220 @@
+package net.silentchaos512.gear.client.model;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import net.minecraft.client.renderer.model.IBakedModel;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.config.CompiledConfig;
+import net.silentchaos512.gear.util.CacheMetrics;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A single cache for all dynamically baked item models (gear, compound parts, fragments). Entries
+ * are weighed by quad count, so the total size of the cache is limited by the number of quads it
+ * holds rather than the number of models. The least recently used models are evicted first. The
+ * budget comes from the client config, and the cache is rebuilt if it changes.
+ * <p>
+ * Models can also be baked on a background thread with
+ * {@link #getOrBakeAsync(Key, Supplier, IBakedModel)}, in which case a placeholder model is used
+ * until the real model is ready.
+ */
+public final class BakedModelCache {
+    private static final Random RANDOM = new Random();
+
+    private static final ExecutorService BAKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Silent Gear Model Baker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Set<Key> PENDING = ConcurrentHashMap.newKeySet();
+    // Incremented when models are invalidated, so bakes started before then are discarded. There is
+    // one count for all models, and one for each owner which has been invalidated.
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    private static final Map<Object, Integer> OWNER_GENERATIONS = new WeakHashMap<>();
+
+    private static volatile long budget = CompiledConfig.client().modelCacheQuadBudget;
+    private static volatile Cache<Key, IBakedModel> cache = build(budget);
+
+    static {
+        CacheMetrics.register("Baked models", () -> {
+            CacheStats stats = getStats();
+            return new CacheMetrics.Snapshot(stats.hitCount(), stats.missCount(), stats.evictionCount(), size());
+        });
+    }
+
+    private BakedModelCache() {}
+
+    private static Cache<Key, IBakedModel> build(long quadBudget) {
+        return CacheBuilder.newBuilder()
+                .maximumWeight(quadBudget)
+                .weigher((Key key, IBakedModel model) -> weigh(model))
+                .recordStats()
+                .build();
+    }
+
+    private static int weigh(IBakedModel model) {
+        return Math.max(1, model.getQuads(null, null, RANDOM).size());
+    }
+
+    private static Cache<Key, IBakedModel> getCache() {
+        long configBudget = CompiledConfig.client().modelCacheQuadBudget;
+        if (configBudget != budget) {
+            synchronized (BakedModelCache.class) {
+                if (configBudget != budget) {
+                    SilentGear.LOGGER.debug("Model cache budget changed ({} -> {} quads), rebuilding cache", budget, configBudget);
+                    cache = build(configBudget);
+                    budget = configBudget;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Gets a cached model, baking it with {@code baker} if it is not cached.
+     *
+     * @param key   The cache key
+     * @param baker Bakes the model
+     * @return The model
+     * @throws ExecutionException if the baker throws an exception
+     */
+    public static IBakedModel get(Key key, Callable<IBakedModel> baker) throws ExecutionException {
+        return getCache().get(key, timed(baker));
+    }
+
+    /**
+     * Gets a cached model. If the model is not cached, it is baked on a background thread and
+     * {@code placeholder} is returned until it is ready. If there is no placeholder, the model is
+     * baked immediately.
+     * <p>
+     * {@code preparer} is called on the calling thread, and should read everything it needs from
+     * the item stack. The {@link Callable} it returns may run on another thread, so it must not
+     * touch the stack or other mutable state.
+     *
+     * @param key         The cache key
+     * @param preparer    Prepares a baker for the model
+     * @param placeholder The model to use until baking completes, or null to bake immediately
+     * @return The model, or {@code placeholder}
+     * @throws ExecutionException if baking immediately and the baker throws an exception
+     */
+    public static IBakedModel getOrBakeAsync(Key key, Supplier<Callable<IBakedModel>> preparer, @Nullable IBakedModel placeholder) throws ExecutionException {
+        Cache<Key, IBakedModel> cache = getCache();
+        IBakedModel model = cache.getIfPresent(key);
+        if (model != null) {
+            return model;
+        }
+        if (placeholder == null) {
+            return cache.get(key, timed(preparer.get()));
+        }
+
+        if (PENDING.add(key)) {
+            Callable<IBakedModel> baker = timed(preparer.get());
+            int generation = GENERATION.get();
+            int ownerGeneration = getOwnerGeneration(key.owner);
+            BAKER.execute(() -> {
+                try {
+                    IBakedModel baked = baker.call();
+                    // Checked and added while holding the lock, so invalidation can't happen in between
+                    synchronized (OWNER_GENERATIONS) {
+                        if (GENERATION.get() == generation && getOwnerGeneration(key.owner) == ownerGeneration) {
+                            getCache().put(key, baked);
+                        }
+                    }
+                } catch (Exception ex) {
+                    SilentGear.LOGGER.error("Failed to bake model in background", ex);
+                } finally {
+                    PENDING.remove(key);
+                }
+            });
+        }
+        return placeholder;
+    }
+
+    private static Callable<IBakedModel> timed(Callable<IBakedModel> baker) {
+        return () -> {
+            long start = System.nanoTime();
+            IBakedModel model = baker.call();
+            CacheMetrics.MODEL_BAKE_TIME.record(System.nanoTime() - start);
+            return model;
+        };
+    }
+
+    /**
+     * Removes all models baked by the given owner (usually an override list).
+     *
+     * @param owner The owner
+     */
+    public static void invalidate(Object owner) {
+        synchronized (OWNER_GENERATIONS) {
+            OWNER_GENERATIONS.merge(owner, 1, Integer::sum);
+            getCache().asMap().keySet().removeIf(key -> key.owner == owner);
+        }
+    }
+
+    public static void invalidateAll() {
+        synchronized (OWNER_GENERATIONS) {
+            GENERATION.incrementAndGet();
+            getCache().invalidateAll();
+        }
+    }
+
+    private static int getOwnerGeneration(Object owner) {
+        synchronized (OWNER_GENERATIONS) {
+            return OWNER_GENERATIONS.getOrDefault(owner, 0);
+        }
+    }
+
+    public static long size() {
+        return getCache().size();
+    }
+
+    public static long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Gets the cache statistics (hit count, miss count, eviction count, load time). Statistics are
+     * reset if the cache is rebuilt.
+     *
+     * @return The statistics
+     */
+    public static CacheStats getStats() {
+        return getCache().stats();
+    }
+
+    public static final class Key {
+        private final Object owner;
+        private final IBakedModel parent;
+        private final String data;
+
+        /**
+         * @param owner  The object which bakes the model, usually an override list
+         * @param parent The model being overridden
+         * @param data   The model key for the item
+         */
+        public Key(Object owner, IBakedModel parent, String data) {
+            this.owner = owner;
+            this.parent = parent;
+            this.data = data;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return owner == key.owner && parent == key.parent && Objects.equals(data, key.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(owner) + System.identityHashCode(parent)) + data.hashCode();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package net.silentchaos512.gear.client.model;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.renderer.texture.AtlasTexture;
+import net.minecraft.client.renderer.texture.MipmapGenerator;
+import net.minecraft.client.renderer.texture.NativeImage;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.data.AnimationMetadataSection;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.MathHelper;
+import net.silentchaos512.gear.SilentGear;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+import javax.annotation.Nullable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Combines the tinted layers of gear models into single textures, so that a gear item can be drawn
+ * with one set of quads instead of one per layer. Combined textures are drawn into slots of a
+ * blank texture ({@link #HOST_TEXTURE}) which is stitched into the block atlas like any other
+ * item texture, so no extra render types are needed. The host texture is only stitched when
+ * composite textures are enabled.
+ * <p>
+ * A slot is held for as long as any model uses its sprite. Slots only keep a weak reference to
+ * their sprite, and the sprite is referenced by the quads of every model using it (cached models,
+ * placeholders, etc.) A slot is reused only after its sprite has been garbage collected, so no
+ * live model can ever draw another combination's pixels. When all slots are held, callers should
+ * fall back to layered quads.
+ */
+public final class CompositeTextureAtlas {
+    public static final ResourceLocation HOST_TEXTURE = SilentGear.getId("item/composite_atlas");
+
+    private static final int SLOT_SIZE = 16;
+    // A 16x16 slot has no pixels past level 4
+    private static final int MAX_MIPMAP_LEVELS = 4;
+
+    private static final Map<Key, Slot> SLOTS = new HashMap<>();
+    private static final Deque<Integer> FREE_SLOTS = new ArrayDeque<>();
+    // Slots whose sprite is no longer used. Replaced on reset, so old slots are never freed twice.
+    private static ReferenceQueue<TextureAtlasSprite> released = new ReferenceQueue<>();
+    @Nullable private static volatile TextureAtlasSprite host;
+    // Mipmap levels the atlas was actually stitched with, read on the render thread
+    private static volatile int hostMipmapLevels = -1;
+
+    private CompositeTextureAtlas() {}
+
+    /**
+     * Gets a combined texture for the given layers, creating it if needed. Layer sprites must be
+     * 16x16 and not animated. The returned sprite must be referenced by the model which uses it
+     * (its quads do that), otherwise the slot may be reused.
+     *
+     * @param hostSprite The sprite for {@link #HOST_TEXTURE}
+     * @param sprites    The sprite of each layer, bottom layer first
+     * @param colors     The color of each layer
+     * @return The combined sprite, or null if the layers cannot be combined or there is no free
+     * slot
+     */
+    @Nullable
+    public static TextureAtlasSprite getComposite(TextureAtlasSprite hostSprite, List<TextureAtlasSprite> sprites, int[] colors) {
+        if (sprites.isEmpty() || !canHost(hostSprite)) {
+            return null;
+        }
+        for (TextureAtlasSprite sprite : sprites) {
+            if (sprite.getWidth() != SLOT_SIZE || sprite.getHeight() != SLOT_SIZE || sprite.getFrameCount() != 1) {
+                return null;
+            }
+        }
+
+        Key key = new Key(sprites, colors);
+        TextureAtlasSprite sprite;
+        NativeImage image;
+        int index;
+
+        synchronized (SLOTS) {
+            if (host != hostSprite) {
+                // Atlas was stitched again, old slots are gone
+                reset(hostSprite);
+            }
+            reclaimReleasedSlots();
+
+            Slot slot = SLOTS.get(key);
+            if (slot != null) {
+                TextureAtlasSprite existing = slot.get();
+                if (existing != null) {
+                    return existing;
+                }
+                // Not used anymore, but not yet reclaimed; the slot is freed once it is enqueued
+                SLOTS.remove(key);
+            }
+
+            if (FREE_SLOTS.isEmpty()) {
+                return null;
+            }
+            index = FREE_SLOTS.pop();
+            image = composite(sprites, colors);
+            sprite = createSprite(hostSprite, index, image);
+            SLOTS.put(key, new Slot(key, index, sprite, released));
+        }
+
+        upload(hostSprite, sprite, index, image);
+        return sprite;
+    }
+
+    /**
+     * Forgets all combined textures. Must be called when textures are reloaded.
+     */
+    public static void clear() {
+        synchronized (SLOTS) {
+            SLOTS.clear();
+            FREE_SLOTS.clear();
+            released = new ReferenceQueue<>();
+            host = null;
+            hostMipmapLevels = -1;
+        }
+    }
+
+    private static boolean canHost(TextureAtlasSprite hostSprite) {
+        return HOST_TEXTURE.equals(hostSprite.getName())
+                && hostSprite.getWidth() >= SLOT_SIZE
+                && hostSprite.getHeight() >= SLOT_SIZE;
+    }
+
+    private static void reset(TextureAtlasSprite hostSprite) {
+        SLOTS.clear();
+        FREE_SLOTS.clear();
+        released = new ReferenceQueue<>();
+        int slotCount = (hostSprite.getWidth() / SLOT_SIZE) * (hostSprite.getHeight() / SLOT_SIZE);
+        for (int i = 0; i < slotCount; ++i) {
+            FREE_SLOTS.add(i);
+        }
+        host = hostSprite;
+        hostMipmapLevels = -1;
+        SilentGear.LOGGER.debug("Composite texture atlas has {} slots", slotCount);
+    }
+
+    private static void reclaimReleasedSlots() {
+        Reference<? extends TextureAtlasSprite> ref;
+        while ((ref = released.poll()) != null) {
+            Slot slot = (Slot) ref;
+            if (SLOTS.get(slot.key) == slot) {
+                SLOTS.remove(slot.key);
+            }
+            FREE_SLOTS.push(slot.index);
+        }
+    }
+
+    private static NativeImage composite(List<TextureAtlasSprite> sprites, int[] colors) {
+        NativeImage image = new NativeImage(SLOT_SIZE, SLOT_SIZE, true);
+
+        for (int i = 0; i < sprites.size(); ++i) {
+            TextureAtlasSprite sprite = sprites.get(i);
+            int color = colors[i];
+            int tintR = (color >> 16) & 0xFF;
+            int tintG = (color >> 8) & 0xFF;
+            int tintB = color & 0xFF;
+            // Zero alpha is treated as fully opaque, same as layered quads
+            int tintA = (color >>> 24) == 0 ? 0xFF : color >>> 24;
+
+            for (int y = 0; y < SLOT_SIZE; ++y) {
+                for (int x = 0; x < SLOT_SIZE; ++x) {
+                    // Pixels are ABGR
+                    int src = sprite.getPixelRGBA(0, x, y);
+                    int srcA = ((src >>> 24) * tintA) / 255;
+                    if (srcA == 0) continue;
+
+                    int srcR = ((src & 0xFF) * tintR) / 255;
+                    int srcG = (((src >> 8) & 0xFF) * tintG) / 255;
+                    int srcB = (((src >> 16) & 0xFF) * tintB) / 255;
+
+                    int dst = image.getPixelRGBA(x, y);
+                    int dstA = dst >>> 24;
+                    // Source over destination, with non-premultiplied alpha
+                    int dstWeight = dstA * (255 - srcA) / 255;
+                    int outA = srcA + dstWeight;
+                    int outR = (srcR * srcA + (dst & 0xFF) * dstWeight) / outA;
+                    int outG = (srcG * srcA + ((dst >> 8) & 0xFF) * dstWeight) / outA;
+                    int outB = (srcB * srcA + ((dst >> 16) & 0xFF) * dstWeight) / outA;
+
+                    image.setPixelRGBA(x, y, (outA << 24) | (outB << 16) | (outG << 8) | outR);
+                }
+            }
+        }
+
+        return image;
+    }
+
+    private static TextureAtlasSprite createSprite(TextureAtlasSprite hostSprite, int index, NativeImage image) {
+        AtlasTexture atlas = hostSprite.getAtlasTexture();
+        int atlasWidth = getAtlasWidth(hostSprite);
+        int atlasHeight = getAtlasHeight(hostSprite);
+
+        ResourceLocation name = new ResourceLocation(HOST_TEXTURE.getNamespace(), HOST_TEXTURE.getPath() + "_" + index);
+        TextureAtlasSprite.Info info = new TextureAtlasSprite.Info(name, SLOT_SIZE, SLOT_SIZE, AnimationMetadataSection.EMPTY);
+        // Mipmaps are generated and uploaded separately, see upload
+        return new Sprite(atlas, info, 0, atlasWidth, atlasHeight, getSlotX(hostSprite, index), getSlotY(hostSprite, index), image);
+    }
+
+    private static int getAtlasWidth(TextureAtlasSprite hostSprite) {
+        return Math.round(hostSprite.getWidth() / (hostSprite.getMaxU() - hostSprite.getMinU()));
+    }
+
+    private static int getAtlasHeight(TextureAtlasSprite hostSprite) {
+        return Math.round(hostSprite.getHeight() / (hostSprite.getMaxV() - hostSprite.getMinV()));
+    }
+
+    private static int getSlotX(TextureAtlasSprite hostSprite, int index) {
+        int columns = hostSprite.getWidth() / SLOT_SIZE;
+        return Math.round(hostSprite.getMinU() * getAtlasWidth(hostSprite)) + (index % columns) * SLOT_SIZE;
+    }
+
+    private static int getSlotY(TextureAtlasSprite hostSprite, int index) {
+        int columns = hostSprite.getWidth() / SLOT_SIZE;
+        return Math.round(hostSprite.getMinV() * getAtlasHeight(hostSprite)) + (index / columns) * SLOT_SIZE;
+    }
+
+    private static void upload(TextureAtlasSprite hostSprite, TextureAtlasSprite sprite, int index, NativeImage image) {
+        int x = getSlotX(hostSprite, index);
+        int y = getSlotY(hostSprite, index);
+        Runnable upload = () -> {
+            // Skip if the atlas was stitched again in the meantime
+            if (host == hostSprite) {
+                hostSprite.getAtlasTexture().bindTexture();
+                NativeImage[] mipmaps = MipmapGenerator.generateMipmaps(image, getHostMipmapLevels());
+                for (int level = 0; level < mipmaps.length; ++level) {
+                    mipmaps[level].uploadTextureSub(level, x >> level, y >> level, 0, 0, SLOT_SIZE >> level, SLOT_SIZE >> level, mipmaps.length > 1, false);
+                    if (level > 0) {
+                        mipmaps[level].close();
+                    }
+                }
+            }
+            // Pixels are in the atlas now, no need to keep a copy (closes image)
+            sprite.close();
+        };
+
+        if (RenderSystem.isOnRenderThread()) {
+            upload.run();
+        } else {
+            RenderSystem.recordRenderCall(upload::run);
+        }
+    }
+
+    /**
+     * Gets the number of mipmap levels the block atlas was stitched with. This may be less than
+     * the mipmap levels option, since small textures lower it. Must be called on the render
+     * thread, with the atlas bound.
+     */
+    private static int getHostMipmapLevels() {
+        int levels = hostMipmapLevels;
+        if (levels < 0) {
+            // The atlas sets its max level to the mipmap level it was stitched with
+            int maxLevel = GL11.glGetTexParameteri(GL11.GL_TEXTURE_2D, GL12.GL_TEXTURE_MAX_LEVEL);
+            levels = MathHelper.clamp(maxLevel, 0, MAX_MIPMAP_LEVELS);
+            hostMipmapLevels = levels;
+        }
+        return levels;
+    }
+
+    private static final class Sprite extends TextureAtlasSprite {
+        @SuppressWarnings("ConstructorWithTooManyParameters")
+        private Sprite(AtlasTexture atlas, Info info, int mipmapLevels, int atlasWidth, int atlasHeight, int x, int y, NativeImage image) {
+            super(atlas, info, mipmapLevels, atlasWidth, atlasHeight, x, y, image);
+        }
+    }
+
+    private static final class Slot extends WeakReference<TextureAtlasSprite> {
+        private final Key key;
+        private final int index;
+
+        private Slot(Key key, int index, TextureAtlasSprite sprite, ReferenceQueue<TextureAtlasSprite> queue) {
+            super(sprite, queue);
+            this.key = key;
+            this.index = index;
+        }
+    }
+
+    private static final class Key {
+        private final TextureAtlasSprite[] sprites;
+        private final int[] colors;
+        private final int hash;
+
+        private Key(List<TextureAtlasSprite> sprites, int[] colors) {
+            this.sprites = sprites.toArray(new TextureAtlasSprite[0]);
+            this.colors = Arrays.copyOf(colors, this.sprites.length);
+            int hash = Arrays.hashCode(this.colors);
+            for (TextureAtlasSprite sprite : this.sprites) {
+                hash = 31 * hash + System.identityHashCode(sprite);
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            if (sprites.length != other.sprites.length || !Arrays.equals(colors, other.colors)) {
+                return false;
+            }
+            for (int i = 0; i < sprites.length; ++i) {
+                if (sprites[i] != other.sprites[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
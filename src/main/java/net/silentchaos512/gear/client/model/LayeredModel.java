@@ -3,19 +3,84 @@ package net.silentchaos512.gear.client.model;
 import com.google.common.collect.ImmutableList;
 import net.minecraft.client.renderer.model.BakedQuad;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.client.renderer.vertex.VertexFormatElement;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.vector.TransformationMatrix;
 import net.minecraftforge.client.model.geometry.IModelGeometry;
 import net.minecraftforge.client.model.pipeline.BakedQuadBuilder;
 import net.minecraftforge.client.model.pipeline.IVertexConsumer;
+import net.minecraftforge.client.model.pipeline.LightUtil;
 import net.minecraftforge.client.model.pipeline.TRSRTransformer;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class LayeredModel<T extends IModelGeometry<T>> implements IModelGeometry<T> {
-    // Quad builders (credit to Tetra, https://github.com/mickelus/tetra/blob/master/src/main/java/se/mickelus/tetra/client/model/ModularItemModel.java)
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int COLOR_ELEMENT = findColorElement();
+
+    // Untinted quads for each sprite, layer index, and transform. Quads for a specific color are
+    // copies with the color changed, which is much cheaper than building them again.
+    private static final Map<QuadTemplateKey, List<BakedQuad>> QUAD_TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * Clears cached quad templates. Must be called when textures are reloaded, since sprites are
+     * replaced.
+     */
+    public static void clearQuadTemplates() {
+        QUAD_TEMPLATES.clear();
+    }
+
     public static List<BakedQuad> getQuadsForSprite(int tintIndex, TextureAtlasSprite sprite, TransformationMatrix transform, int color) {
+        List<BakedQuad> template = QUAD_TEMPLATES.computeIfAbsent(new QuadTemplateKey(sprite, tintIndex, transform),
+                key -> buildQuadsForSprite(tintIndex, sprite, transform, WHITE));
+
+        // Zero alpha is treated as fully opaque, see putVertex
+        int opaqueColor = (color & 0xFF000000) == 0 ? color | 0xFF000000 : color;
+        if (opaqueColor == WHITE) {
+            return template;
+        }
+
+        float[] colorArray = {
+                ((opaqueColor >> 16) & 0xFF) / 255f,
+                ((opaqueColor >> 8) & 0xFF) / 255f,
+                (opaqueColor & 0xFF) / 255f,
+                ((opaqueColor >> 24) & 0xFF) / 255f
+        };
+        ImmutableList.Builder<BakedQuad> builder = ImmutableList.builder();
+        for (BakedQuad quad : template) {
+            int[] vertexData = quad.getVertexData().clone();
+            for (int v = 0; v < 4; ++v) {
+                LightUtil.pack(colorArray, vertexData, DefaultVertexFormats.BLOCK, v, COLOR_ELEMENT);
+            }
+            builder.add(new BakedQuad(vertexData, quad.getTintIndex(), quad.getFace(), sprite, true));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds quads for a sprite without caching them. Use for sprites which are replaced often,
+     * such as composite textures.
+     */
+    public static List<BakedQuad> getUncachedQuadsForSprite(int tintIndex, TextureAtlasSprite sprite, TransformationMatrix transform) {
+        return buildQuadsForSprite(tintIndex, sprite, transform, WHITE);
+    }
+
+    private static int findColorElement() {
+        List<VertexFormatElement> elements = DefaultVertexFormats.BLOCK.getElements();
+        for (int i = 0; i < elements.size(); ++i) {
+            if (elements.get(i).getUsage() == VertexFormatElement.Usage.COLOR) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Block vertex format has no color element?");
+    }
+
+    // Quad builders (credit to Tetra, https://github.com/mickelus/tetra/blob/master/src/main/java/se/mickelus/tetra/client/model/ModularItemModel.java)
+    private static List<BakedQuad> buildQuadsForSprite(int tintIndex, TextureAtlasSprite sprite, TransformationMatrix transform, int color) {
         ImmutableList.Builder<BakedQuad> builder = ImmutableList.builder();
 
         int uMax = sprite.getWidth();
@@ -169,4 +234,29 @@ public abstract class LayeredModel<T extends IModelGeometry<T>> implements IMode
             }
         }
     }
+
+    private static final class QuadTemplateKey {
+        private final TextureAtlasSprite sprite;
+        private final int tintIndex;
+        private final TransformationMatrix transform;
+
+        private QuadTemplateKey(TextureAtlasSprite sprite, int tintIndex, TransformationMatrix transform) {
+            this.sprite = sprite;
+            this.tintIndex = tintIndex;
+            this.transform = transform;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            QuadTemplateKey that = (QuadTemplateKey) o;
+            return sprite == that.sprite && tintIndex == that.tintIndex && transform.equals(that.transform);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(sprite) + tintIndex) + transform.hashCode();
+        }
+    }
 }
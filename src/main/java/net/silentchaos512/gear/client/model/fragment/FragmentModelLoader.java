@@ -5,6 +5,8 @@ import com.google.gson.JsonObject;
 import net.minecraft.client.renderer.model.ItemCameraTransforms;
 import net.minecraft.resources.IResourceManager;
 import net.minecraftforge.client.model.IModelLoader;
+import net.silentchaos512.gear.client.model.BakedModelCache;
+import net.silentchaos512.gear.client.model.LayeredModel;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -19,6 +21,9 @@ public class FragmentModelLoader implements IModelLoader<FragmentModel> {
     @Override
     public void onResourceManagerReload(IResourceManager resourceManager) {
         MODELS.clear();
+        // Models will be rebaked, with new override lists
+        BakedModelCache.invalidateAll();
+        LayeredModel.clearQuadTemplates();
     }
 
     @Override
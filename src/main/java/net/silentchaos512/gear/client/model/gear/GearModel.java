@@ -22,11 +22,14 @@ import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
 import net.silentchaos512.gear.client.model.BakedPerspectiveModel;
 import net.silentchaos512.gear.client.model.BakedWrapper;
+import net.silentchaos512.gear.client.model.CompositeTextureAtlas;
 import net.silentchaos512.gear.client.model.LayeredModel;
 import net.silentchaos512.gear.client.model.PartTextures;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.init.Registration;
 import net.silentchaos512.gear.util.Const;
 
+import javax.annotation.Nullable;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -77,10 +80,21 @@ public class GearModel extends LayeredModel<GearModel> {
         TransformationMatrix rotation = modelTransform.getRotation();
         ImmutableMap<ItemCameraTransforms.TransformType, TransformationMatrix> transforms = PerspectiveMapWrapper.getTransforms(modelTransform);
 
+        List<TextureAtlasSprite> sprites = new ArrayList<>(layers.size());
+        int[] colors = new int[layers.size()];
         for (int i = 0; i < layers.size(); i++) {
             MaterialLayer layer = layers.get(i);
-            TextureAtlasSprite texture = spriteGetter.apply(new RenderMaterial(PlayerContainer.LOCATION_BLOCKS_TEXTURE, layer.getTexture(this.gearType, animationFrame)));
-            builder.addAll(getQuadsForSprite(i, texture, rotation, layer.getColor()));
+            sprites.add(spriteGetter.apply(new RenderMaterial(PlayerContainer.LOCATION_BLOCKS_TEXTURE, layer.getTexture(this.gearType, animationFrame))));
+            colors[i] = layer.getColor();
+        }
+
+        TextureAtlasSprite composite = getCompositeSprite(spriteGetter, sprites, colors);
+        if (composite != null) {
+            builder.addAll(getUncachedQuadsForSprite(-1, composite, rotation));
+        } else {
+            for (int i = 0; i < sprites.size(); i++) {
+                builder.addAll(getQuadsForSprite(i, sprites.get(i), rotation, colors[i]));
+            }
         }
 
         // No layers?
@@ -100,6 +114,16 @@ public class GearModel extends LayeredModel<GearModel> {
         return new BakedPerspectiveModel(builder.build(), particle, transforms, overrideList, rotation.isIdentity(), owner.isSideLit(), getCameraTransforms(transformVariant));
     }
 
+    @Nullable
+    private TextureAtlasSprite getCompositeSprite(Function<RenderMaterial, TextureAtlasSprite> spriteGetter, List<TextureAtlasSprite> sprites, int[] colors) {
+        // Shields are tinted by a color handler, which needs separate layers
+        if (!CompiledConfig.client().compositeTextures || sprites.size() < 2 || gearType.matches(GearType.SHIELD)) {
+            return null;
+        }
+        TextureAtlasSprite host = spriteGetter.apply(getMaterial(CompositeTextureAtlas.HOST_TEXTURE));
+        return CompositeTextureAtlas.getComposite(host, sprites, colors);
+    }
+
     private void buildFakeModel(Function<RenderMaterial, TextureAtlasSprite> spriteGetter, ImmutableList.Builder<BakedQuad> builder, TransformationMatrix rotation, IMaterial material) {
         // This method will display an example tool for items with no data (ie, for advancements)
         IMaterialDisplay model = MaterialDisplayManager.get(material);
@@ -130,6 +154,9 @@ public class GearModel extends LayeredModel<GearModel> {
         Set<RenderMaterial> ret = new HashSet<>();
 
         ret.add(new RenderMaterial(PlayerContainer.LOCATION_BLOCKS_TEXTURE, SilentGear.getId("item/error")));
+        if (CompiledConfig.client().compositeTextures) {
+            ret.add(getMaterial(CompositeTextureAtlas.HOST_TEXTURE));
+        }
 
         // Generic built-in textures
         for (PartTextures tex : PartTextures.getTextures(this.gearType)) {
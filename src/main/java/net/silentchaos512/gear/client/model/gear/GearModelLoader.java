@@ -7,6 +7,9 @@ import net.minecraft.resources.IResourceManager;
 import net.minecraft.util.JSONUtils;
 import net.minecraftforge.client.model.IModelLoader;
 import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.client.model.BakedModelCache;
+import net.silentchaos512.gear.client.model.CompositeTextureAtlas;
+import net.silentchaos512.gear.client.model.LayeredModel;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -21,6 +24,10 @@ public class GearModelLoader implements IModelLoader<GearModel> {
     @Override
     public void onResourceManagerReload(IResourceManager resourceManager) {
         MODELS.clear();
+        // Models will be rebaked, with new override lists
+        BakedModelCache.invalidateAll();
+        LayeredModel.clearQuadTemplates();
+        CompositeTextureAtlas.clear();
     }
 
     @Override
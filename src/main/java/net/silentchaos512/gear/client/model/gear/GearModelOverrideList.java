@@ -1,7 +1,5 @@
 package net.silentchaos512.gear.client.model.gear;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import net.minecraft.client.renderer.model.*;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
@@ -20,7 +18,9 @@ import net.silentchaos512.gear.api.material.MaterialLayer;
 import net.silentchaos512.gear.api.parts.PartDataList;
 import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
+import net.silentchaos512.gear.client.model.BakedModelCache;
 import net.silentchaos512.gear.client.model.PartTextures;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.item.gear.CoreCrossbow;
 import net.silentchaos512.gear.parts.PartData;
@@ -34,23 +34,20 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class GearModelOverrideList extends ItemOverrideList {
-    private final Cache<CacheKey, IBakedModel> bakedModelCache = CacheBuilder.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
-
     private final GearModel model;
     private final IModelConfiguration owner;
     private final ModelBakery bakery;
     private final Function<RenderMaterial, TextureAtlasSprite> spriteGetter;
     private final IModelTransform modelTransform;
     private final ResourceLocation modelLocation;
+    // Most recent model returned, used as a placeholder while baking in the background
+    @Nullable private volatile IBakedModel lastModel;
 
     @SuppressWarnings("ConstructorWithTooManyParameters")
     public GearModelOverrideList(GearModel model,
@@ -71,9 +68,14 @@ public class GearModelOverrideList extends ItemOverrideList {
     @Override
     public IBakedModel func_239290_a_(IBakedModel model, ItemStack stack, @Nullable ClientWorld worldIn, @Nullable LivingEntity entityIn) {
         int animationFrame = getAnimationFrame(stack, worldIn, entityIn);
-        CacheKey key = getKey(model, stack, worldIn, entityIn, animationFrame);
+        BakedModelCache.Key key = getKey(model, stack, worldIn, entityIn, animationFrame);
         try {
-            return bakedModelCache.get(key, () -> getOverrideModel(stack, worldIn, entityIn, animationFrame));
+            IBakedModel placeholder = CompiledConfig.client().asyncModelBaking ? lastModel : null;
+            IBakedModel result = BakedModelCache.getOrBakeAsync(key, () -> prepareOverrideModel(stack, worldIn, entityIn, animationFrame), placeholder);
+            if (result != placeholder) {
+                lastModel = result;
+            }
+            return result;
         } catch (ExecutionException e) {
             e.printStackTrace();
         }
@@ -84,7 +86,8 @@ public class GearModelOverrideList extends ItemOverrideList {
         return ((ICoreItem) stack.getItem()).getAnimationFrame(stack, world, entity);
     }
 
-    private IBakedModel getOverrideModel(ItemStack stack, @Nullable ClientWorld worldIn, @Nullable LivingEntity entityIn, int animationFrame) {
+    // Reads the layers from the stack now, and returns a baker which does not touch the stack
+    private Callable<IBakedModel> prepareOverrideModel(ItemStack stack, @Nullable ClientWorld worldIn, @Nullable LivingEntity entityIn, int animationFrame) {
         List<MaterialLayer> layers = new ArrayList<>();
 
         for (PartData part : getPartsInRenderOrder(stack)) {
@@ -101,7 +104,7 @@ public class GearModelOverrideList extends ItemOverrideList {
             getCrossbowCharge(stack, worldIn, entityIn).ifPresent(layers::add);
         }
 
-        return model.bake(layers, animationFrame, "test", owner, bakery, spriteGetter, modelTransform, this, modelLocation);
+        return () -> model.bake(layers, animationFrame, "test", owner, bakery, spriteGetter, modelTransform, this, modelLocation);
     }
 
     private static PartDataList getPartsInRenderOrder(ItemStack stack) {
@@ -169,11 +172,11 @@ public class GearModelOverrideList extends ItemOverrideList {
         return Optional.empty();
     }
 
-    private static CacheKey getKey(IBakedModel model, ItemStack stack, @Nullable ClientWorld world, @Nullable LivingEntity entity, int animationFrame) {
+    private BakedModelCache.Key getKey(IBakedModel model, ItemStack stack, @Nullable ClientWorld world, @Nullable LivingEntity entity, int animationFrame) {
         String chargeSuffix = getCrossbowCharge(stack, world, entity)
                 .map(l -> l.getTextureId().getPath())
                 .orElse("");
-        return new CacheKey(model, GearData.getModelKey(stack, animationFrame) + chargeSuffix);
+        return new BakedModelCache.Key(this, model, GearData.getModelKey(stack, animationFrame) + chargeSuffix);
     }
 
     @Override
@@ -184,29 +187,6 @@ public class GearModelOverrideList extends ItemOverrideList {
     @SuppressWarnings("WeakerAccess")
     public void clearCache() {
         SilentGear.LOGGER.debug("Clearing model cache for {}", this.model.gearType);
-        bakedModelCache.invalidateAll();
-    }
-
-    static final class CacheKey {
-        final IBakedModel parent;
-        final String data;
-
-        CacheKey(IBakedModel parent, String hash) {
-            this.parent = parent;
-            this.data = hash;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            CacheKey cacheKey = (CacheKey) o;
-            return parent == cacheKey.parent && Objects.equals(data, cacheKey.data);
-        }
-
-        @Override
-        public int hashCode() {
-            return 31 * parent.hashCode() + data.hashCode();
-        }
+        BakedModelCache.invalidate(this);
     }
 }
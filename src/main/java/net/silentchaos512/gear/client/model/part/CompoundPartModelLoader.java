@@ -7,6 +7,8 @@ import net.minecraft.resources.IResourceManager;
 import net.minecraftforge.client.model.IModelLoader;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.api.parts.PartType;
+import net.silentchaos512.gear.client.model.BakedModelCache;
+import net.silentchaos512.gear.client.model.LayeredModel;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -21,6 +23,9 @@ public class CompoundPartModelLoader implements IModelLoader<CompoundPartModel>
     @Override
     public void onResourceManagerReload(IResourceManager resourceManager) {
         MODELS.clear();
+        // Models will be rebaked, with new override lists
+        BakedModelCache.invalidateAll();
+        LayeredModel.clearQuadTemplates();
     }
 
     @Override
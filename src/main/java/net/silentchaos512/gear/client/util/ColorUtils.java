@@ -1,5 +1,7 @@
 package net.silentchaos512.gear.client.util;
 
+import com.google.common.collect.ImmutableList;
+import net.minecraft.util.ResourceLocation;
 import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.material.IMaterialDisplay;
 import net.silentchaos512.gear.api.material.IMaterialInstance;
@@ -7,62 +9,49 @@ import net.silentchaos512.gear.api.material.MaterialLayer;
 import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
 import net.silentchaos512.gear.item.CompoundPartItem;
+import net.silentchaos512.gear.util.EpochCache;
 import net.silentchaos512.utils.Color;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 public final class ColorUtils {
+    // Material displays are reloaded with resources, which bumps the data epoch
+    private static final EpochCache<BlendKey, Integer> BLENDED_COLORS = new EpochCache<>(4096, "Blended colors");
+
     private ColorUtils() {}
 
-    @SuppressWarnings("OverlyLongMethod")
     public static int getBlendedColor(ICoreItem item, PartType partType, Collection<? extends IMaterialInstance> materials, int layer) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
+        BlendKey key = new BlendKey(item.getGearType(), partType, materials, layer);
+        return BLENDED_COLORS.get(key, k -> computeBlendedColor(item, partType, materials, layer));
+    }
+
+    private static int computeBlendedColor(ICoreItem item, PartType partType, Collection<? extends IMaterialInstance> materials, int layer) {
+        int[] colors = new int[materials.size()];
+        int[] weights = new int[materials.size()];
 
         int i = 0;
         for (IMaterialInstance mat : materials) {
             IMaterialDisplay model = MaterialDisplayManager.get(mat.getMaterialId());
             if (model != null) {
-                int color = model.getLayerColor(item.getGearType(), partType, layer);
-                int r = (color >> 16) & 0xFF;
-                int g = (color >> 8) & 0xFF;
-                int b = color & 0xFF;
-                int colorWeight = (materials.size() - i) * (materials.size() - i);
-                for (int j = 0; j < colorWeight; ++j) {
-                    maxColorSum += Math.max(r, Math.max(g, b));
-                    componentSums[0] += r;
-                    componentSums[1] += g;
-                    componentSums[2] += b;
-                    ++colorCount;
-                }
+                colors[i] = model.getLayerColor(item.getGearType(), partType, layer);
+                weights[i] = (materials.size() - i) * (materials.size() - i);
                 ++i;
             }
         }
 
-        if (colorCount > 0) {
-            int r = componentSums[0] / colorCount;
-            int g = componentSums[1] / colorCount;
-            int b = componentSums[2] / colorCount;
-            float maxAverage = (float) maxColorSum / (float) colorCount;
-            float max = (float) Math.max(r, Math.max(g, b));
-            r = (int) ((float) r * maxAverage / max);
-            g = (int) ((float) g * maxAverage / max);
-            b = (int) ((float) b * maxAverage / max);
-            int finalColor = (r << 8) + g;
-            finalColor = (finalColor << 8) + b;
-            return finalColor;
-        }
-
-        return Color.VALUE_WHITE;
+        return blend(colors, weights, i);
     }
 
-    @SuppressWarnings("OverlyLongMethod")
     public static int getBlendedColor(CompoundPartItem item, Collection<? extends IMaterialInstance> materials, int layer) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
+        BlendKey key = new BlendKey(item, item.getPartType(), materials, layer);
+        return BLENDED_COLORS.get(key, k -> computeBlendedColor(item, materials, layer));
+    }
+
+    private static int computeBlendedColor(CompoundPartItem item, Collection<? extends IMaterialInstance> materials, int layer) {
+        int[] colors = new int[materials.size()];
+        int[] weights = new int[materials.size()];
 
         int i = 0;
         for (IMaterialInstance mat : materials) {
@@ -70,27 +59,56 @@ public final class ColorUtils {
             if (model != null) {
                 List<MaterialLayer> layers = model.getLayers(item.getGearType(), item.getPartType()).getLayers();
                 if (layers.size() > layer) {
-                    int color = layers.get(layer).getColor();
-                    int r = (color >> 16) & 0xFF;
-                    int g = (color >> 8) & 0xFF;
-                    int b = color & 0xFF;
-                    int colorWeight = item.getColorWeight(i, materials.size());
-                    for (int j = 0; j < colorWeight; ++j) {
-                        maxColorSum += Math.max(r, Math.max(g, b));
-                        componentSums[0] += r;
-                        componentSums[1] += g;
-                        componentSums[2] += b;
-                        ++colorCount;
-                    }
+                    colors[i] = layers.get(layer).getColor();
+                    weights[i] = item.getColorWeight(i, materials.size());
                     ++i;
                 }
             }
         }
 
+        return blend(colors, weights, i);
+    }
+
+    /**
+     * Blends colors by a weighted average of each component. The brightness of the result is then
+     * adjusted to match the weighted average of each color's brightest component, so that blending
+     * contrasting colors does not give an overly dark result.
+     * <p>
+     * Weights behave as if each color were added {@code weight} times (non-positive weights are
+     * ignored). Each color's components are multiplied by its weight instead of being added in a
+     * loop. For integers, {@code weight * x} equals {@code x} added {@code weight} times, so the
+     * sums, and the blended color, are exactly the same as adding each color repeatedly.
+     *
+     * @param colors  The colors (RGB, alpha is ignored)
+     * @param weights The weight of each color
+     * @param count   The number of colors to use from the arrays
+     * @return The blended color, or white if there is nothing to blend
+     */
+    public static int blend(int[] colors, int[] weights, int count) {
+        int rSum = 0;
+        int gSum = 0;
+        int bSum = 0;
+        int maxColorSum = 0;
+        int colorCount = 0;
+
+        for (int i = 0; i < count; ++i) {
+            int weight = weights[i];
+            if (weight > 0) {
+                int r = (colors[i] >> 16) & 0xFF;
+                int g = (colors[i] >> 8) & 0xFF;
+                int b = colors[i] & 0xFF;
+                maxColorSum += weight * Math.max(r, Math.max(g, b));
+                rSum += weight * r;
+                gSum += weight * g;
+                bSum += weight * b;
+                colorCount += weight;
+            }
+        }
+
         if (colorCount > 0) {
-            int r = componentSums[0] / colorCount;
-            int g = componentSums[1] / colorCount;
-            int b = componentSums[2] / colorCount;
+            int r = rSum / colorCount;
+            int g = gSum / colorCount;
+            int b = bSum / colorCount;
             float maxAverage = (float) maxColorSum / (float) colorCount;
             float max = (float) Math.max(r, Math.max(g, b));
             r = (int) ((float) r * maxAverage / max);
@@ -103,4 +121,39 @@ public final class ColorUtils {
 
         return Color.VALUE_WHITE;
     }
+
+    private static final class BlendKey {
+        // Gear type or compound part item, both are compared by identity
+        private final Object owner;
+        private final PartType partType;
+        private final List<ResourceLocation> materialIds;
+        private final int layer;
+        private final int hash;
+
+        private BlendKey(Object owner, PartType partType, Collection<? extends IMaterialInstance> materials, int layer) {
+            this.owner = owner;
+            this.partType = partType;
+            ImmutableList.Builder<ResourceLocation> ids = ImmutableList.builder();
+            materials.forEach(mat -> ids.add(mat.getMaterialId()));
+            this.materialIds = ids.build();
+            this.layer = layer;
+            this.hash = Objects.hash(System.identityHashCode(owner), System.identityHashCode(partType), materialIds, layer);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BlendKey other = (BlendKey) o;
+            return owner == other.owner
+                    && partType == other.partType
+                    && layer == other.layer
+                    && materialIds.equals(other.materialIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -16,7 +16,7 @@ import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.client.KeyTracker;
 import net.silentchaos512.gear.client.event.TooltipHandler;
-import net.silentchaos512.gear.config.Config;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.item.gear.CoreArmor;
@@ -48,6 +48,17 @@ public final class GearClientHelper {
     }
 
     public static void addInformation(ItemStack stack, World world, List<ITextComponent> tooltip, GearTooltipFlag flag) {
+        if (!(stack.getItem() instanceof ICoreItem)) return;
+
+        if (SearchTooltips.isIndexing(world)) {
+            SearchTooltips.addGearLines(stack, tooltip);
+            return;
+        }
+
+        TooltipCache.addLines(TooltipCache.SECTION_GEAR, stack, tooltip, flag, lines -> buildInformation(stack, lines, flag));
+    }
+
+    private static void buildInformation(ItemStack stack, List<ITextComponent> tooltip, GearTooltipFlag flag) {
         /*
         LoaderState state = Loader.instance().getLoaderState();
         if (state == LoaderState.INITIALIZATION || state == LoaderState.SERVER_ABOUT_TO_START || state == LoaderState.SERVER_STOPPING) {
@@ -242,7 +253,7 @@ public final class GearClientHelper {
     }
 
     public static boolean hasEffect(ItemStack stack) {
-        return Config.Client.allowEnchantedEffect.get() && stack.isEnchanted();
+        return CompiledConfig.client().allowEnchantedEffect && stack.isEnchanted();
     }
 
     public static boolean shouldCauseReequipAnimation(ItemStack oldStack, ItemStack newStack, boolean slotChanged) {
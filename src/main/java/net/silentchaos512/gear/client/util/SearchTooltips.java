@@ -0,0 +1,166 @@
+package net.silentchaos512.gear.client.util;
+
+import com.google.common.collect.ImmutableList;
+import com.mojang.datafixers.util.Pair;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.world.World;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.parts.MaterialGrade;
+import net.silentchaos512.gear.api.parts.PartTraitInstance;
+import net.silentchaos512.gear.api.parts.PartType;
+import net.silentchaos512.gear.api.traits.ITrait;
+import net.silentchaos512.gear.gear.material.MaterialInstance;
+import net.silentchaos512.gear.item.CompoundPartItem;
+import net.silentchaos512.gear.parts.PartData;
+import net.silentchaos512.gear.parts.type.CompoundPart;
+import net.silentchaos512.gear.util.EpochCache;
+import net.silentchaos512.gear.util.GearData;
+import net.silentchaos512.gear.util.TraitHelper;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Minimal tooltips for search indexing. Vanilla builds the creative search tab's index by
+ * requesting the tooltip of every item variant without a player (and so without a world), while
+ * loading resources and when tags are received. Those tooltips are never displayed, so only
+ * searchable text is added (part, material and trait names) instead of building the full tooltip
+ * with stats. Lines for gear and materials are cached until the data epoch changes.
+ * <p>
+ * JEI is detected explicitly: {@link net.silentchaos512.gear.compat.jei.SGearJeiPlugin} marks the
+ * time from its first registration call until the runtime is available, during which JEI builds
+ * its ingredient list (JEI passes the client player, so the checks below would not catch it).
+ * <p>
+ * The creative search tree can't be detected directly, so a heuristic is used: a tooltip is
+ * assumed to be for indexing if it has no player or world, and it is requested outside of frame
+ * rendering. Tooltips shown on screens (including screens without a world, like the main menu)
+ * are built during rendering, so they always get the full tooltip.
+ */
+@Mod.EventBusSubscriber(modid = SilentGear.MOD_ID, value = Dist.CLIENT)
+@OnlyIn(Dist.CLIENT)
+public final class SearchTooltips {
+    private static final EpochCache<String, List<ITextComponent>> GEAR_LINES = new EpochCache<>(4096, "Search tooltips (gear)");
+    private static final EpochCache<Pair<ResourceLocation, MaterialGrade>, List<ITextComponent>> MATERIAL_LINES = new EpochCache<>(4096, "Search tooltips (materials)");
+
+    // True while a frame is being rendered, which is when displayed tooltips are built
+    private static volatile boolean rendering;
+    // True while JEI builds its ingredient list
+    private static volatile boolean jeiIndexing;
+
+    private SearchTooltips() {}
+
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        rendering = event.phase == TickEvent.Phase.START;
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        // Ticks never happen during a frame or while JEI starts. Resetting here means neither flag
+        // can stay set if the event or plugin call which clears it is skipped (crash, etc.)
+        rendering = false;
+        jeiIndexing = false;
+    }
+
+    /**
+     * Marks the start or end of JEI building its ingredient list. Called by the JEI plugin.
+     *
+     * @param indexing True when JEI starts, false when its runtime is available
+     */
+    public static void setJeiIndexing(boolean indexing) {
+        jeiIndexing = indexing;
+    }
+
+    /**
+     * Check if a tooltip is being requested for search indexing (see class comment).
+     *
+     * @param world The world passed to {@link net.minecraft.item.Item#addInformation}
+     * @return True if JEI is indexing, or there is no world and no frame is being rendered
+     */
+    public static boolean isIndexing(@Nullable World world) {
+        return jeiIndexing || (world == null && !rendering);
+    }
+
+    /**
+     * Check if a tooltip is being requested for search indexing (see class comment).
+     *
+     * @param player The player from {@link net.minecraftforge.event.entity.player.ItemTooltipEvent}
+     * @return True if JEI is indexing, or there is no player and no frame is being rendered
+     */
+    public static boolean isIndexing(@Nullable PlayerEntity player) {
+        return jeiIndexing || (player == null && !rendering);
+    }
+
+    public static void addGearLines(ItemStack gear, List<ITextComponent> tooltip) {
+        String modelKey = GearData.getModelKey(gear, 0);
+        if (modelKey.isEmpty()) {
+            tooltip.addAll(buildLines(lines -> buildGearLines(gear, lines)));
+        } else {
+            tooltip.addAll(GEAR_LINES.get(modelKey, key -> buildLines(lines -> buildGearLines(gear, lines))));
+        }
+    }
+
+    public static void addMaterialLines(MaterialInstance material, List<ITextComponent> tooltip) {
+        Pair<ResourceLocation, MaterialGrade> key = Pair.of(material.getMaterialId(), material.getGrade());
+        tooltip.addAll(MATERIAL_LINES.get(key, k -> buildLines(lines -> buildMaterialLines(material, lines))));
+    }
+
+    public static void addPartLines(PartData part, List<ITextComponent> tooltip) {
+        tooltip.add(part.getType().getDisplayName(part.getTier()));
+        for (PartTraitInstance inst : part.getTraits()) {
+            if (!inst.getTrait().isHidden()) {
+                tooltip.add(inst.getDisplayName());
+            }
+        }
+    }
+
+    private static List<ITextComponent> buildLines(Consumer<List<ITextComponent>> builder) {
+        List<ITextComponent> lines = new ArrayList<>();
+        builder.accept(lines);
+        return ImmutableList.copyOf(lines);
+    }
+
+    private static void buildGearLines(ItemStack gear, List<ITextComponent> lines) {
+        for (PartData part : GearData.getConstructionParts(gear)) {
+            if (part.getPart().isVisible()) {
+                lines.add(part.getDisplayName(gear));
+
+                if (part.getPart() instanceof CompoundPart) {
+                    for (MaterialInstance material : CompoundPartItem.getMaterials(part.getCraftingItem())) {
+                        lines.add(material.getDisplayName(part.getType()));
+                    }
+                }
+            }
+        }
+
+        TraitHelper.getCachedTraits(gear).forEach((trait, level) -> {
+            if (!trait.isHidden()) {
+                lines.add(trait.getDisplayName(level));
+            }
+        });
+    }
+
+    private static void buildMaterialLines(MaterialInstance material, List<ITextComponent> lines) {
+        if (material.getGrade() != MaterialGrade.NONE) {
+            lines.add(material.getGrade().getDisplayName());
+        }
+
+        Set<ITrait> traits = new HashSet<>();
+        for (PartType partType : material.getPartTypes()) {
+            for (PartTraitInstance inst : material.getMaterial().getTraits(partType)) {
+                if (!inst.getTrait().isHidden() && traits.add(inst.getTrait())) {
+                    lines.add(inst.getDisplayName());
+                }
+            }
+        }
+    }
+}
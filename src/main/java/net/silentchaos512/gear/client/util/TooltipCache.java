@@ -0,0 +1,189 @@
+package net.silentchaos512.gear.client.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.util.ITooltipFlag;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundNBT;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.StringTextComponent;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.silentchaos512.gear.client.KeyTracker;
+import net.silentchaos512.gear.util.CacheMetrics;
+import net.silentchaos512.lib.event.ClientTicks;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Caches tooltip lines, so that hovering over an item does not rebuild its tooltip every frame.
+ * Lines are keyed by the item, its NBT, the tooltip flag, the state of every key which changes
+ * tooltips, the language, and the current second (some tooltips cycle through traits once per
+ * second). Entries expire after a short time, and the cache is cleared on resource reloads and
+ * data epoch changes.
+ * <p>
+ * Builders may add lines to the end of the tooltip, or insert them just below the item name (index
+ * 1), and both are replayed in the same positions.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class TooltipCache {
+    public static final int SECTION_GEAR = 0;
+    public static final int SECTION_TOOLTIP_EVENT = 1;
+
+    private static final Cache<Key, Entry> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(512)
+            .expireAfterWrite(1, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+
+    // Stand-ins for the item name and the existing lines while building
+    private static final ITextComponent NAME_MARKER = new StringTextComponent("");
+    private static final ITextComponent END_MARKER = new StringTextComponent("");
+
+    static {
+        CacheMetrics.register("Tooltips", () -> {
+            CacheStats stats = CACHE.stats();
+            return new CacheMetrics.Snapshot(stats.hitCount(), stats.missCount(), stats.evictionCount(), CACHE.size());
+        });
+    }
+
+    private TooltipCache() {}
+
+    /**
+     * Adds cached lines to the tooltip, calling {@code builder} to build them if needed.
+     *
+     * @param section Which builder is adding lines, since one item can have several
+     * @param stack   The item
+     * @param tooltip The tooltip
+     * @param flag    The tooltip flag
+     * @param builder Adds the lines to the list it is given
+     */
+    public static void addLines(int section, ItemStack stack, List<ITextComponent> tooltip, ITooltipFlag flag, Consumer<List<ITextComponent>> builder) {
+        Key key = new Key(section, stack, flag);
+        Entry entry = CACHE.getIfPresent(key);
+        if (entry == null) {
+            entry = build(builder);
+            CACHE.put(key.copyForStorage(), entry);
+        }
+
+        // Copy lines in case another mod modifies them
+        if (!entry.top.isEmpty()) {
+            List<ITextComponent> top = new ArrayList<>(entry.top.size());
+            entry.top.forEach(line -> top.add(line.deepCopy()));
+            tooltip.addAll(Math.min(1, tooltip.size()), top);
+        }
+        entry.bottom.forEach(line -> tooltip.add(line.deepCopy()));
+    }
+
+    private static Entry build(Consumer<List<ITextComponent>> builder) {
+        List<ITextComponent> lines = new ArrayList<>();
+        lines.add(NAME_MARKER);
+        lines.add(END_MARKER);
+        builder.accept(lines);
+
+        // Compare by identity, builders may add empty lines which are equal to the markers
+        int end = 1;
+        while (lines.get(end) != END_MARKER) {
+            ++end;
+        }
+        return new Entry(lines.subList(1, end), lines.subList(end + 1, lines.size()));
+    }
+
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    private static final class Entry {
+        private final List<ITextComponent> top;
+        private final List<ITextComponent> bottom;
+
+        private Entry(List<ITextComponent> top, List<ITextComponent> bottom) {
+            this.top = ImmutableList.copyOf(top);
+            this.bottom = ImmutableList.copyOf(bottom);
+        }
+    }
+
+    private static final class Key {
+        private final int section;
+        private final Item item;
+        @Nullable private final CompoundNBT tag;
+        private final int flags;
+        private final int materialCycle;
+        private final int second;
+        private final String language;
+
+        private Key(int section, ItemStack stack, ITooltipFlag flag) {
+            this.section = section;
+            this.item = stack.getItem();
+            this.tag = stack.getTag();
+            this.flags = getFlagBits(flag);
+            this.materialCycle = KeyTracker.getMaterialCycleCount();
+            this.second = ClientTicks.ticksInGame() / 20;
+            this.language = Minecraft.getInstance().getLanguageManager().getCurrentLanguage().getCode();
+        }
+
+        private Key(Key other) {
+            this.section = other.section;
+            this.item = other.item;
+            this.tag = other.tag != null ? other.tag.copy() : null;
+            this.flags = other.flags;
+            this.materialCycle = other.materialCycle;
+            this.second = other.second;
+            this.language = other.language;
+        }
+
+        // The stack's tag may change later, so keys in the cache need their own copy
+        private Key copyForStorage() {
+            return new Key(this);
+        }
+
+        private static int getFlagBits(ITooltipFlag flag) {
+            int bits = 0;
+            if (flag.isAdvanced()) bits |= 1;
+            if (KeyTracker.isControlDown()) bits |= 1 << 1;
+            if (KeyTracker.isAltDown()) bits |= 1 << 2;
+            if (KeyTracker.isShiftDown()) bits |= 1 << 3;
+            if (KeyTracker.isDisplayStatsDown()) bits |= 1 << 4;
+            if (KeyTracker.isDisplayTraitsDown()) bits |= 1 << 5;
+            if (KeyTracker.isDisplayConstructionDown()) bits |= 1 << 6;
+            if (flag instanceof GearTooltipFlag) {
+                GearTooltipFlag gearFlag = (GearTooltipFlag) flag;
+                bits |= 1 << 7;
+                if (gearFlag.ctrlDown) bits |= 1 << 8;
+                if (gearFlag.altDown) bits |= 1 << 9;
+                if (gearFlag.shiftDown) bits |= 1 << 10;
+                if (gearFlag.showStats) bits |= 1 << 11;
+                if (gearFlag.showConstruction) bits |= 1 << 12;
+            }
+            return bits;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key other = (Key) o;
+            return section == other.section
+                    && item == other.item
+                    && flags == other.flags
+                    && materialCycle == other.materialCycle
+                    && second == other.second
+                    && language.equals(other.language)
+                    && Objects.equals(tag, other.tag);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(section, item, tag, flags, materialCycle, second, language);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import mezz.jei.api.constants.VanillaRecipeCategoryUid;
 import mezz.jei.api.constants.VanillaTypes;
 import mezz.jei.api.helpers.IGuiHelper;
 import mezz.jei.api.registration.*;
+import mezz.jei.api.runtime.IJeiRuntime;
 import net.minecraft.block.Blocks;
 import net.minecraft.client.Minecraft;
 import net.minecraft.item.Item;
@@ -19,6 +20,7 @@ import net.silentchaos512.gear.api.item.ICoreTool;
 import net.silentchaos512.gear.api.material.IMaterial;
 import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.block.salvager.SalvagerScreen;
+import net.silentchaos512.gear.client.util.SearchTooltips;
 import net.silentchaos512.gear.crafting.ingredient.PartMaterialIngredient;
 import net.silentchaos512.gear.crafting.recipe.ShapedGearRecipe;
 import net.silentchaos512.gear.crafting.recipe.ShapelessCompoundPartRecipe;
@@ -120,6 +122,8 @@ public class SGearJeiPlugin implements IModPlugin {
 
     @Override
     public void registerItemSubtypes(ISubtypeRegistration reg) {
+        // First call when JEI starts. JEI then requests every ingredient's tooltip for its index.
+        SearchTooltips.setJeiIndexing(true);
         initFailed = true;
 
 //        ModItems.gearClasses.forEach((id, item) ->
@@ -137,6 +141,11 @@ public class SGearJeiPlugin implements IModPlugin {
         initFailed = false;
     }
 
+    @Override
+    public void onRuntimeAvailable(IJeiRuntime jeiRuntime) {
+        SearchTooltips.setJeiIndexing(false);
+    }
+
     private static void addInfoPage(IRecipeRegistration reg, IItemProvider item) {
         String key = getDescKey(Objects.requireNonNull(item.asItem().getRegistryName()));
         ItemStack stack = new ItemStack(item);
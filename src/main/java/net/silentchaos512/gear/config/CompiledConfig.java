@@ -0,0 +1,216 @@
+package net.silentchaos512.gear.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.ForgeConfigSpec;
+import net.minecraftforge.registries.IForgeRegistryEntry;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.stats.ItemStat;
+import net.silentchaos512.gear.api.stats.ItemStats;
+import net.silentchaos512.gear.util.IAOETool;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable snapshots of config values which are checked often (every mob death, every stat
+ * calculation, etc.) Lists are parsed into ID sets and patterns once, instead of on every check.
+ * Snapshots are rebuilt whenever the config is loaded or reloaded, see {@link Config}.
+ */
+public final class CompiledConfig {
+    private static volatile Common common = Common.EMPTY;
+    private static volatile Client client = Client.EMPTY;
+
+    private CompiledConfig() {}
+
+    public static Common common() {
+        return common;
+    }
+
+    public static Client client() {
+        return client;
+    }
+
+    static void rebuild(ForgeConfigSpec spec) {
+        if (spec == Config.Common.spec) {
+            common = new Common();
+            SilentGear.LOGGER.debug("Compiled common config ({} nerfed items, {} sinew animals)", common.nerfedItems.size(), common.sinewAnimals.size());
+        } else if (spec == Config.Client.spec) {
+            client = new Client();
+        }
+    }
+
+    public static final class Common {
+        private static final Common EMPTY = new Common(false);
+
+        public final boolean nerfedItemsEnabled;
+        public final float nerfedItemDurabilityMulti;
+        public final float nerfedItemHarvestSpeedMulti;
+        private final IdMatcher nerfedItems;
+        public final double sinewDropRate;
+        private final IdMatcher sinewAnimals;
+        // Indexed by ItemStat#getOrdinal
+        private final float[] statMultipliers;
+        public final IAOETool.MatchMode matchModeStandard;
+        public final IAOETool.MatchMode matchModeOres;
+        public final boolean graderBatchMode;
+        public final boolean salvagerBulkMode;
+
+        private Common() {
+            this.nerfedItemsEnabled = Config.Common.nerfedItemsEnabled.get();
+            this.nerfedItemDurabilityMulti = Config.Common.nerfedItemDurabilityMulti.get().floatValue();
+            this.nerfedItemHarvestSpeedMulti = Config.Common.nerfedItemHarvestSpeedMulti.get().floatValue();
+            this.nerfedItems = new IdMatcher(Config.Common.nerfedItems.get());
+            this.sinewDropRate = Config.Common.sinewDropRate.get();
+            this.sinewAnimals = new IdMatcher(Config.Common.sinewAnimals.get());
+
+            this.statMultipliers = new float[ItemStats.allStatsOrdered().size()];
+            Arrays.fill(this.statMultipliers, 1f);
+            for (Map.Entry<ItemStat, ForgeConfigSpec.DoubleValue> entry : Config.Common.getStatMultipliers().entrySet()) {
+                int ordinal = entry.getKey().getOrdinal();
+                if (ordinal < this.statMultipliers.length) {
+                    this.statMultipliers[ordinal] = entry.getValue().get().floatValue();
+                }
+            }
+
+            this.matchModeStandard = Config.Common.matchModeStandard.get();
+            this.matchModeOres = Config.Common.matchModeOres.get();
+            this.graderBatchMode = Config.Common.graderBatchMode.get();
+            this.salvagerBulkMode = Config.Common.salvagerBulkMode.get();
+        }
+
+        private Common(boolean unused) {
+            this.nerfedItemsEnabled = false;
+            this.nerfedItemDurabilityMulti = 1f;
+            this.nerfedItemHarvestSpeedMulti = 1f;
+            this.nerfedItems = IdMatcher.EMPTY;
+            this.sinewDropRate = 0;
+            this.sinewAnimals = IdMatcher.EMPTY;
+            this.statMultipliers = new float[0];
+            this.matchModeStandard = IAOETool.MatchMode.MODERATE;
+            this.matchModeOres = IAOETool.MatchMode.STRICT;
+            this.graderBatchMode = false;
+            this.salvagerBulkMode = false;
+        }
+
+        public boolean isNerfedItem(IForgeRegistryEntry<?> item) {
+            return nerfedItemsEnabled && nerfedItems.test(item.getRegistryName());
+        }
+
+        public boolean isSinewAnimal(IForgeRegistryEntry<?> entityType) {
+            return sinewAnimals.test(entityType.getRegistryName());
+        }
+
+        public float getStatWithMultiplier(ItemStat stat, float value) {
+            int ordinal = stat.getOrdinal();
+            if (ordinal < statMultipliers.length) {
+                return statMultipliers[ordinal] * value;
+            }
+            return value;
+        }
+    }
+
+    public static final class Client {
+        static final int DEFAULT_MODEL_CACHE_QUAD_BUDGET = 250_000;
+        private static final Client EMPTY = new Client(false);
+
+        public final boolean allowEnchantedEffect;
+        public final boolean useLiteModels;
+        public final boolean disableNewMaterialTooltips;
+        public final int modelCacheQuadBudget;
+        public final boolean asyncModelBaking;
+        public final boolean compositeTextures;
+        public final boolean showCachePanel;
+
+        private Client() {
+            this.allowEnchantedEffect = Config.Client.allowEnchantedEffect.get();
+            this.useLiteModels = Config.Client.useLiteModels.get();
+            this.disableNewMaterialTooltips = Config.Client.disableNewMaterialTooltips.get();
+            this.modelCacheQuadBudget = Config.Client.modelCacheQuadBudget.get();
+            this.asyncModelBaking = Config.Client.asyncModelBaking.get();
+            this.compositeTextures = Config.Client.compositeTextures.get();
+            this.showCachePanel = Config.Client.showCachePanel.get();
+        }
+
+        private Client(boolean unused) {
+            this.allowEnchantedEffect = false;
+            this.useLiteModels = false;
+            this.disableNewMaterialTooltips = false;
+            this.modelCacheQuadBudget = DEFAULT_MODEL_CACHE_QUAD_BUDGET;
+            this.asyncModelBaking = false;
+            this.compositeTextures = false;
+            this.showCachePanel = false;
+        }
+    }
+
+    /**
+     * A list of registry IDs from the config. Entries may contain {@code *} wildcards, such as
+     * {@code "minecraft:*_sword"}.
+     */
+    static final class IdMatcher {
+        static final IdMatcher EMPTY = new IdMatcher(ImmutableList.of());
+
+        private final ImmutableSet<ResourceLocation> ids;
+        private final ImmutableList<Pattern> patterns;
+
+        IdMatcher(Collection<? extends String> entries) {
+            ImmutableSet.Builder<ResourceLocation> ids = ImmutableSet.builder();
+            ImmutableList.Builder<Pattern> patterns = ImmutableList.builder();
+            for (String str : entries) {
+                if (isPattern(str)) {
+                    patterns.add(compilePattern(str));
+                } else {
+                    ResourceLocation id = ResourceLocation.tryCreate(str);
+                    if (id != null) {
+                        ids.add(id);
+                    }
+                }
+            }
+            this.ids = ids.build();
+            this.patterns = patterns.build();
+        }
+
+        boolean test(@Nullable ResourceLocation id) {
+            if (id == null) return false;
+            if (ids.contains(id)) return true;
+
+            if (!patterns.isEmpty()) {
+                String str = id.toString();
+                for (Pattern pattern : patterns) {
+                    if (pattern.matcher(str).matches()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return ids.size() + patterns.size();
+        }
+
+        static boolean isPattern(String str) {
+            return str.indexOf('*') > -1;
+        }
+
+        static Pattern compilePattern(String str) {
+            // Default namespace, same as ResourceLocation
+            String full = str.indexOf(':') > -1 ? str : "minecraft:" + str;
+            String[] parts = full.split("\\*", -1);
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < parts.length; ++i) {
+                if (i > 0) {
+                    regex.append(".*");
+                }
+                if (!parts[i].isEmpty()) {
+                    regex.append(Pattern.quote(parts[i]));
+                }
+            }
+            return Pattern.compile(regex.toString());
+        }
+    }
+}
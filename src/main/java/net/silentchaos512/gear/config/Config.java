@@ -10,7 +10,6 @@ import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.config.ModConfig;
-import net.minecraftforge.registries.IForgeRegistryEntry;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
@@ -41,6 +40,7 @@ public final class Config {
         public static final ForgeConfigSpec.EnumValue<IAOETool.MatchMode> matchModeOres;
         public static final ForgeConfigSpec.BooleanValue gearBreaksPermanently;
         public static final ForgeConfigSpec.IntValue prospectorHammerRange;
+        public static final ForgeConfigSpec.IntValue sawBlocksPerTick;
         public static final ForgeConfigSpec.DoubleValue repairFactorAnvil;
         public static final ForgeConfigSpec.DoubleValue repairFactorQuick;
         public static final ForgeConfigSpec.IntValue repairKitCrudeCapacity;
@@ -56,8 +56,13 @@ public final class Config {
         // Salvager
         public static final ForgeConfigSpec.DoubleValue salvagerMinLossRate;
         public static final ForgeConfigSpec.DoubleValue salvagerMaxLossRate;
+        public static final ForgeConfigSpec.BooleanValue salvagerBulkMode;
+        // Grader
+        public static final ForgeConfigSpec.BooleanValue graderBatchMode;
         // Compatibility
         public static final ForgeConfigSpec.BooleanValue mineAndSlashSupport;
+        // Data
+        public static final ForgeConfigSpec.BooleanValue differentialReload;
         // Debug
         public static final ForgeConfigSpec.BooleanValue extraPartAndTraitLogging;
 
@@ -125,8 +130,8 @@ public final class Config {
                         .comment("Multiplies harvest speed by this value.")
                         .defineInRange("harvestSpeedMultiplier", 0.5, 0, 1);
                 nerfedItems = builder
-                        .comment("These items will have reduced durability")
-                        .defineList("items", NerfedGear.DEFAULT_ITEMS, Config::isResourceLocation);
+                        .comment("These items will have reduced durability. Entries may use * as a wildcard, like \"minecraft:*_sword\"")
+                        .defineList("items", NerfedGear.DEFAULT_ITEMS, Config::isResourceLocationOrPattern);
                 builder.pop();
             }
             {
@@ -137,14 +142,14 @@ public final class Config {
                         .comment("Drop rate of sinew (chance out of 1)")
                         .defineInRange("dropRate", 0.2, 0, 1);
                 sinewAnimals = builder
-                        .comment("These entities can drop sinew when killed.")
+                        .comment("These entities can drop sinew when killed. Entries may use * as a wildcard.")
                         .defineList("dropsFrom",
                                 ImmutableList.of(
                                         "minecraft:cow",
                                         "minecraft:pig",
                                         "minecraft:sheep"
                                 ),
-                                Config::isResourceLocation);
+                                Config::isResourceLocationOrPattern);
                 builder.pop();
             }
             {
@@ -162,6 +167,13 @@ public final class Config {
                             .defineInRange("range", 16, 0, 64);
                     builder.pop();
                 }
+                {
+                    builder.push("saw");
+                    sawBlocksPerTick = builder
+                            .comment("The maximum number of logs a saw breaks each tick. Larger trees are felled over several ticks.")
+                            .defineInRange("blocksPerTick", 32, 1, 1024);
+                    builder.pop();
+                }
                 {
                     builder.comment("Settings for AOE tools (hammer, excavator)",
                             "Match modes determine what blocks are considered similar enough to be mined together.",
@@ -224,6 +236,19 @@ public final class Config {
                         .comment("Maximum rate of part loss when salvaging items. 0 = no loss, 1 = complete loss.",
                                 "Rate depends on remaining durability.")
                         .defineInRange("partLossRate.max", 0.5, 0, 1);
+                salvagerBulkMode = builder
+                        .comment("If true, the salvager processes as much of the input stack as will fit in the output slots at once,",
+                                "instead of one item at a time. Useful for automated setups.")
+                        .define("bulkMode", false);
+                builder.pop();
+            }
+            {
+                builder.comment("Settings for the material grader");
+                builder.push("grader");
+                graderBatchMode = builder
+                        .comment("If true, the grader grades the whole input stack at once (one catalyst per item),",
+                                "instead of one item at a time. Useful for automated setups.")
+                        .define("batchMode", false);
                 builder.pop();
             }
 
@@ -231,6 +256,11 @@ public final class Config {
                     .comment("Enable compatibility with the Mine and Slash mod, if installed")
                     .define("compat.mineAndSlash.enabled", true);
 
+            differentialReload = builder
+                    .comment("When reloading data packs, keep materials, parts, and traits whose files did not change.",
+                            "This makes reloads faster and avoids clearing caches. Disable if you suspect reloads are not picking up changes.")
+                    .define("data.differentialReload", true);
+
             extraPartAndTraitLogging = builder
                     .comment("Log additional information related to loading and synchronizing gear parts and traits.",
                             "This might help track down more obscure issues.")
@@ -242,34 +272,27 @@ public final class Config {
         private Common() {}
 
         public static float getStatWithMultiplier(ItemStat stat, float value) {
-            if (statMultipliers.containsKey(stat))
-                return statMultipliers.get(stat).get().floatValue() * value;
-            return value;
+            return CompiledConfig.common().getStatWithMultiplier(stat, value);
+        }
+
+        static Map<ItemStat, ForgeConfigSpec.DoubleValue> getStatMultipliers() {
+            return Collections.unmodifiableMap(statMultipliers);
         }
 
         @SuppressWarnings("TypeMayBeWeakened")
         public static boolean isNerfedItem(Item item) {
-            return nerfedItemsEnabled.get() && isThingInList(item, nerfedItems);
+            return CompiledConfig.common().isNerfedItem(item);
         }
 
         public static boolean isSinewAnimal(LivingEntity entity) {
-            return isThingInList(entity.getType(), sinewAnimals);
-        }
-
-        private static boolean isThingInList(IForgeRegistryEntry<?> thing, ForgeConfigSpec.ConfigValue<List<? extends String>> list) {
-            ResourceLocation name = thing.getRegistryName();
-            for (String str : list.get()) {
-                ResourceLocation fromList = ResourceLocation.tryCreate(str);
-                if (fromList != null && fromList.equals(name)) {
-                    return true;
-                }
-            }
-            return false;
+            return CompiledConfig.common().isSinewAnimal(entity.getType());
         }
     }
 
-    private static boolean isResourceLocation(Object o) {
-        return o instanceof String && ResourceLocation.tryCreate((String) o) != null;
+    private static boolean isResourceLocationOrPattern(Object o) {
+        if (!(o instanceof String)) return false;
+        String str = (String) o;
+        return CompiledConfig.IdMatcher.isPattern(str) || ResourceLocation.tryCreate(str) != null;
     }
 
     public static final class Client {
@@ -278,6 +301,10 @@ public final class Config {
         public static final ForgeConfigSpec.BooleanValue allowEnchantedEffect;
         public static final ForgeConfigSpec.BooleanValue useLiteModels;
         public static final ForgeConfigSpec.BooleanValue disableNewMaterialTooltips;
+        public static final ForgeConfigSpec.IntValue modelCacheQuadBudget;
+        public static final ForgeConfigSpec.BooleanValue asyncModelBaking;
+        public static final ForgeConfigSpec.BooleanValue compositeTextures;
+        public static final ForgeConfigSpec.BooleanValue showCachePanel;
 
         static {
             ForgeConfigSpec.Builder builder = new ForgeConfigSpec.Builder();
@@ -293,6 +320,23 @@ public final class Config {
             disableNewMaterialTooltips = builder
                     .comment("Disable item tooltips related to the new material system. Will be removed when fully implemented.")
                     .define("item.gear.materials.disableNewTooltips", false);
+            modelCacheQuadBudget = builder
+                    .comment("Maximum total number of quads in cached gear, part, and fragment models.",
+                            "Larger values mean fewer models need to be rebuilt, but use more memory (roughly 150 bytes per quad).")
+                    .defineInRange("model.cache.quadBudget", CompiledConfig.Client.DEFAULT_MODEL_CACHE_QUAD_BUDGET, 1000, Integer.MAX_VALUE);
+            asyncModelBaking = builder
+                    .comment("Build gear models on a background thread. Until a model is ready, the last model built for that item is shown.",
+                            "This avoids stutter when many new gear items appear at once (opening a chest, etc.)")
+                    .define("model.asyncBaking", true);
+            compositeTextures = builder
+                    .comment("Combine the layers of gear models into a single texture, so each item is drawn with one set of quads instead of one per layer.",
+                            "Combined textures are kept in a small region of the block atlas. When it is full, new models use layers until older models are no longer used.",
+                            "Items with animated or high resolution textures, and shields, always use layers. Takes effect after reloading resources (F3+T).")
+                    .define("model.compositeTextures", false);
+            showCachePanel = builder
+                    .comment("Show live statistics for the mod's caches in the top left corner of the screen (hit rate, size, evictions),",
+                            "along with average model build and stat recalculation times. Intended for troubleshooting performance.")
+                    .define("debug.showCachePanel", false);
 
             spec = builder.build();
         }
@@ -312,11 +356,13 @@ public final class Config {
 
     @SubscribeEvent
     public static void sync(ModConfig.Loading event) {
+        CompiledConfig.rebuild(event.getConfig().getSpec());
         sync();
     }
 
     @SubscribeEvent
     public static void sync(ModConfig.Reloading event) {
+        CompiledConfig.rebuild(event.getConfig().getSpec());
         sync();
     }
 
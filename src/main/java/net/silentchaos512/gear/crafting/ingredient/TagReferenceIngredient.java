@@ -0,0 +1,211 @@
+package net.silentchaos512.gear.crafting.ingredient;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntComparators;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.item.crafting.RecipeItemHelper;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.tags.ITag;
+import net.minecraft.tags.ItemTags;
+import net.minecraft.util.JSONUtils;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.crafting.IIngredientSerializer;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.silentchaos512.gear.SilentGear;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * An ingredient made of item tag and item references, which are only resolved when the ingredient
+ * is first used. Used to sync crafting items to the client without expanding tags into item lists.
+ * The client resolves the tags against its own tag collection, so this is safe to decode during
+ * the login phase, before tags have been received.
+ */
+public class TagReferenceIngredient extends Ingredient {
+    private final List<ResourceLocation> tags;
+    private final List<ResourceLocation> items;
+    @Nullable private ItemStack[] matchingStacks;
+    @Nullable private Set<Item> matchingItems;
+
+    public TagReferenceIngredient(Collection<ResourceLocation> tags, Collection<ResourceLocation> items) {
+        super(Stream.of());
+        this.tags = new ArrayList<>(tags);
+        this.items = new ArrayList<>(items);
+    }
+
+    /**
+     * Converts a vanilla ingredient (items and tags only) to its reference form. Other ingredients
+     * are returned unchanged.
+     *
+     * @param ingredient The ingredient to convert
+     * @return A {@code TagReferenceIngredient}, or {@code ingredient} if it cannot be converted
+     */
+    public static Ingredient compact(Ingredient ingredient) {
+        if (!ingredient.isVanilla()) {
+            return ingredient;
+        }
+
+        JsonElement json;
+        try {
+            json = ingredient.serialize();
+        } catch (RuntimeException ex) {
+            // Most likely an unknown tag, just send the ingredient normally
+            return ingredient;
+        }
+
+        Collection<ResourceLocation> tags = new ArrayList<>();
+        Collection<ResourceLocation> items = new ArrayList<>();
+        Iterable<JsonElement> elements = json.isJsonArray() ? json.getAsJsonArray() : Collections.singletonList(json);
+        for (JsonElement element : elements) {
+            if (!element.isJsonObject()) {
+                return ingredient;
+            }
+            JsonObject jsonObject = element.getAsJsonObject();
+            if (jsonObject.has("tag")) {
+                tags.add(new ResourceLocation(JSONUtils.getString(jsonObject, "tag")));
+            } else if (jsonObject.has("item")) {
+                items.add(new ResourceLocation(JSONUtils.getString(jsonObject, "item")));
+            } else {
+                return ingredient;
+            }
+        }
+
+        if (tags.isEmpty() && items.isEmpty()) {
+            return ingredient;
+        }
+        return new TagReferenceIngredient(tags, items);
+    }
+
+    private Set<Item> getMatchingItems() {
+        if (this.matchingItems == null) {
+            Set<Item> set = new LinkedHashSet<>();
+            for (ResourceLocation tagId : this.tags) {
+                ITag<Item> tag = ItemTags.getCollection().get(tagId);
+                if (tag != null) {
+                    set.addAll(tag.getAllElements());
+                }
+            }
+            for (ResourceLocation itemId : this.items) {
+                Item item = ForgeRegistries.ITEMS.getValue(itemId);
+                if (item != null) {
+                    set.add(item);
+                }
+            }
+            this.matchingItems = set;
+        }
+        return this.matchingItems;
+    }
+
+    @Override
+    public ItemStack[] getMatchingStacks() {
+        if (this.matchingStacks == null) {
+            this.matchingStacks = getMatchingItems().stream()
+                    .map(ItemStack::new)
+                    .toArray(ItemStack[]::new);
+        }
+        return this.matchingStacks;
+    }
+
+    @Override
+    public IntList getValidItemStacksPacked() {
+        ItemStack[] stacks = getMatchingStacks();
+        IntList list = new IntArrayList(stacks.length);
+        for (ItemStack stack : stacks) {
+            list.add(RecipeItemHelper.pack(stack));
+        }
+        list.sort(IntComparators.NATURAL_COMPARATOR);
+        return list;
+    }
+
+    @Override
+    public boolean test(@Nullable ItemStack stack) {
+        return stack != null && !stack.isEmpty() && getMatchingItems().contains(stack.getItem());
+    }
+
+    @Override
+    public boolean hasNoMatchingItems() {
+        return getMatchingStacks().length == 0;
+    }
+
+    @Override
+    protected void invalidate() {
+        // Tags were reloaded
+        this.matchingStacks = null;
+        this.matchingItems = null;
+    }
+
+    @Override
+    public boolean isSimple() {
+        return true;
+    }
+
+    @Override
+    public IIngredientSerializer<? extends Ingredient> getSerializer() {
+        return Serializer.INSTANCE;
+    }
+
+    @Override
+    public JsonElement serialize() {
+        JsonObject json = new JsonObject();
+        json.addProperty("type", Serializer.NAME.toString());
+        JsonArray tagArray = new JsonArray();
+        this.tags.forEach(id -> tagArray.add(id.toString()));
+        json.add("tags", tagArray);
+        JsonArray itemArray = new JsonArray();
+        this.items.forEach(id -> itemArray.add(id.toString()));
+        json.add("items", itemArray);
+        return json;
+    }
+
+    public static class Serializer implements IIngredientSerializer<TagReferenceIngredient> {
+        public static final Serializer INSTANCE = new Serializer();
+        public static final ResourceLocation NAME = SilentGear.getId("tag_reference");
+
+        @Nonnull
+        @Override
+        public TagReferenceIngredient parse(@Nonnull JsonObject json) {
+            List<ResourceLocation> tags = new ArrayList<>();
+            JSONUtils.getJsonArray(json, "tags", new JsonArray()).forEach(e -> tags.add(new ResourceLocation(e.getAsString())));
+            List<ResourceLocation> items = new ArrayList<>();
+            JSONUtils.getJsonArray(json, "items", new JsonArray()).forEach(e -> items.add(new ResourceLocation(e.getAsString())));
+            if (tags.isEmpty() && items.isEmpty()) {
+                throw new JsonSyntaxException("Expected 'tags' or 'items' to contain at least one entry");
+            }
+            return new TagReferenceIngredient(tags, items);
+        }
+
+        @Nonnull
+        @Override
+        public TagReferenceIngredient parse(@Nonnull PacketBuffer buffer) {
+            List<ResourceLocation> tags = new ArrayList<>();
+            int tagCount = buffer.readVarInt();
+            for (int i = 0; i < tagCount; ++i) {
+                tags.add(buffer.readResourceLocation());
+            }
+            List<ResourceLocation> items = new ArrayList<>();
+            int itemCount = buffer.readVarInt();
+            for (int i = 0; i < itemCount; ++i) {
+                items.add(buffer.readResourceLocation());
+            }
+            return new TagReferenceIngredient(tags, items);
+        }
+
+        @Override
+        public void write(@Nonnull PacketBuffer buffer, @Nonnull TagReferenceIngredient ingredient) {
+            buffer.writeVarInt(ingredient.tags.size());
+            ingredient.tags.forEach(buffer::writeResourceLocation);
+            buffer.writeVarInt(ingredient.items.size());
+            ingredient.items.forEach(buffer::writeResourceLocation);
+        }
+    }
+}
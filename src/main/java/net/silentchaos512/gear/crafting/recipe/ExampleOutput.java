@@ -0,0 +1,35 @@
+package net.silentchaos512.gear.crafting.recipe;
+
+import net.minecraft.item.ItemStack;
+import net.silentchaos512.gear.util.DataEpoch;
+
+import java.util.function.Supplier;
+
+/**
+ * The example output of a gear recipe, shown by recipe books and JEI. Building it requires parts
+ * and a full stat calculation, so it is only rebuilt when the {@link DataEpoch} changes. A new
+ * recipe instance (and so a new example) is created whenever recipes are reloaded.
+ */
+final class ExampleOutput {
+    private final Supplier<ItemStack> factory;
+    private volatile ItemStack stack = ItemStack.EMPTY;
+    private volatile int epoch = -1;
+
+    ExampleOutput(Supplier<ItemStack> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Gets a copy of the example output, building it if needed.
+     *
+     * @return A copy of the example output
+     */
+    ItemStack get() {
+        int current = DataEpoch.get();
+        if (this.epoch != current) {
+            this.stack = this.factory.get();
+            this.epoch = current;
+        }
+        return this.stack.copy();
+    }
+}
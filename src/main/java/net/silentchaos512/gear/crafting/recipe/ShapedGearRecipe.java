@@ -19,6 +19,7 @@ public final class ShapedGearRecipe extends ExtendedShapedRecipe implements IGea
     public static final ExtendedShapedRecipe.Serializer<ShapedGearRecipe> SERIALIZER = Serializer.basic(ShapedGearRecipe::new);
 
     private final ICoreItem item;
+    private final ExampleOutput exampleOutput = new ExampleOutput(this::createExampleOutput);
 
     private ShapedGearRecipe(ShapedRecipe recipe) {
         super(recipe);
@@ -55,6 +56,10 @@ public final class ShapedGearRecipe extends ExtendedShapedRecipe implements IGea
 
     @Override
     public ItemStack getRecipeOutput() {
+        return exampleOutput.get();
+    }
+
+    private ItemStack createExampleOutput() {
         // Create an example item, so we're not just showing a broken item
         ItemStack result = item.construct(GearHelper.getExamplePartsFromRecipe(this.item.getGearType(), getIngredients()));
         GearData.setExampleTag(result, true);
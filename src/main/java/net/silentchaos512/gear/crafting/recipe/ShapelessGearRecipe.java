@@ -19,6 +19,7 @@ public final class ShapelessGearRecipe extends ExtendedShapelessRecipe implement
     public static final Serializer<ShapelessGearRecipe> SERIALIZER = Serializer.basic(ShapelessGearRecipe::new);
 
     private final ICoreItem item;
+    private final ExampleOutput exampleOutput = new ExampleOutput(this::createExampleOutput);
 
     private ShapelessGearRecipe(ShapelessRecipe recipe) {
         super(recipe);
@@ -55,6 +56,10 @@ public final class ShapelessGearRecipe extends ExtendedShapelessRecipe implement
 
     @Override
     public ItemStack getRecipeOutput() {
+        return exampleOutput.get();
+    }
+
+    private ItemStack createExampleOutput() {
         // Create an example item, so we're not just showing a broken item
         ItemStack result = item.construct(GearHelper.getExamplePartsFromRecipe(this.item.getGearType(), getIngredients()));
         GearData.setExampleTag(result, true);
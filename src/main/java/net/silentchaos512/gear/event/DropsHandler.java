@@ -6,7 +6,7 @@ import net.minecraftforge.event.entity.living.LivingDropsEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.silentchaos512.gear.SilentGear;
-import net.silentchaos512.gear.config.Config;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.item.CraftingItems;
 import net.silentchaos512.lib.util.LootUtils;
 import net.silentchaos512.utils.MathUtils;
@@ -21,8 +21,9 @@ public final class DropsHandler {
         if (entity == null) return;
 
         // Sinew drops
-        if (Config.Common.isSinewAnimal(entity)) {
-            double chance = Config.Common.sinewDropRate.get() * (1 + 0.2 * event.getLootingLevel());
+        CompiledConfig.Common config = CompiledConfig.common();
+        if (config.isSinewAnimal(entity.getType())) {
+            double chance = config.sinewDropRate * (1 + 0.2 * event.getLootingLevel());
             if (MathUtils.tryPercentage(SilentGear.random, chance)) {
                 ItemStack stack = new ItemStack(CraftingItems.SINEW);
                 event.getDrops().add(LootUtils.createDroppedItem(stack, entity));
@@ -0,0 +1,141 @@
+package net.silentchaos512.gear.event;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.server.management.PlayerInteractionManager;
+import net.minecraft.util.Direction;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
+import net.minecraftforge.fml.network.PacketDistributor;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.network.MessageExtraBlockBreak;
+import net.silentchaos512.gear.network.Network;
+import net.silentchaos512.gear.util.IAOETool;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks players breaking blocks with AOE tools, and sends the break progress to nearby players so
+ * they can draw the crack overlay on the extra blocks. A packet is only sent when the progress
+ * stage changes (at most 10 per block).
+ * <p>
+ * Progress is read from the player's {@link PlayerInteractionManager}, which handles the digging
+ * packets. So the overlay follows vanilla's own crack overlay on the targeted block exactly,
+ * including when the player aborts or finishes breaking.
+ */
+@Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+public final class ExtraBlockBreakTracker {
+    private static final Map<UUID, Progress> BREAKING = new HashMap<>();
+
+    @Nullable private static final Field IS_DESTROYING_BLOCK = findField("field_73088_d");
+    @Nullable private static final Field DESTROY_POS = findField("field_180240_f");
+    @Nullable private static final Field DESTROY_STAGE = findField("field_73094_o");
+
+    private ExtraBlockBreakTracker() {}
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onLeftClickBlock(PlayerInteractEvent.LeftClickBlock event) {
+        PlayerEntity player = event.getPlayer();
+        if (!(player instanceof ServerPlayerEntity) || player.abilities.isCreativeMode || event.getFace() == null) {
+            return;
+        }
+        if (!(player.getHeldItemMainhand().getItem() instanceof IAOETool)) {
+            return;
+        }
+
+        Progress previous = BREAKING.put(player.getUniqueID(), new Progress(event.getPos().toImmutable(), event.getFace()));
+        if (previous != null && previous.stage >= 0 && !previous.pos.equals(event.getPos())) {
+            send((ServerPlayerEntity) player, previous, -1);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !(event.player instanceof ServerPlayerEntity)) return;
+
+        ServerPlayerEntity player = (ServerPlayerEntity) event.player;
+        Progress progress = BREAKING.get(player.getUniqueID());
+        if (progress == null) return;
+
+        int stage = getStage(player, progress);
+        if (stage < 0 || stage >= 10) {
+            BREAKING.remove(player.getUniqueID());
+            if (progress.stage >= 0) {
+                send(player, progress, -1);
+            }
+        } else if (stage != progress.stage) {
+            progress.stage = stage;
+            send(player, progress, stage);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        BREAKING.remove(event.getPlayer().getUniqueID());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        BREAKING.remove(event.getPlayer().getUniqueID());
+    }
+
+    /**
+     * Gets the progress stage vanilla is showing for the block the player is breaking.
+     *
+     * @return The stage (0-9), or -1 if the player is not breaking the block anymore
+     */
+    private static int getStage(ServerPlayerEntity player, Progress progress) {
+        if (IS_DESTROYING_BLOCK == null || DESTROY_POS == null || DESTROY_STAGE == null
+                || !(player.getHeldItemMainhand().getItem() instanceof IAOETool)) {
+            return -1;
+        }
+
+        PlayerInteractionManager manager = player.interactionManager;
+        try {
+            // Cleared when the player aborts or finishes breaking
+            if (!IS_DESTROYING_BLOCK.getBoolean(manager) || !progress.pos.equals(DESTROY_POS.get(manager))) {
+                return -1;
+            }
+            return DESTROY_STAGE.getInt(manager);
+        } catch (IllegalAccessException ex) {
+            return -1;
+        }
+    }
+
+    private static void send(ServerPlayerEntity player, Progress progress, int stage) {
+        MessageExtraBlockBreak msg = new MessageExtraBlockBreak(player.getEntityId(), progress.pos, progress.face, stage);
+        Network.channel.send(PacketDistributor.TRACKING_ENTITY_AND_SELF.with(() -> player), msg);
+    }
+
+    @Nullable
+    private static Field findField(String name) {
+        try {
+            return ObfuscationReflectionHelper.findField(PlayerInteractionManager.class, name);
+        } catch (Exception ex) {
+            SilentGear.LOGGER.error("Failed to get PlayerInteractionManager field {} via reflection, AOE break progress will not be shown", name);
+            SilentGear.LOGGER.catching(ex);
+            return null;
+        }
+    }
+
+    private static final class Progress {
+        private final BlockPos pos;
+        private final Direction face;
+        private int stage = -1;
+
+        private Progress(BlockPos pos, Direction face) {
+            this.pos = pos;
+            this.face = face;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.silentchaos512.gear.gear.material;
 
+import com.mojang.datafixers.util.Pair;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundNBT;
 import net.minecraft.network.PacketBuffer;
@@ -20,6 +21,7 @@ import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
+import net.silentchaos512.gear.util.EpochCache;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.utils.Color;
@@ -27,42 +29,47 @@ import net.silentchaos512.utils.Color;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 public final class MaterialInstance implements IMaterialInstance {
-    private static final Map<ResourceLocation, MaterialInstance> QUICK_CACHE = new HashMap<>();
+    // Canonical instances for (material, grade) pairs without a specific crafting item. These
+    // share one display item per material.
+    private static final int MAX_INTERNED = 4096;
+    private static final EpochCache<Pair<ResourceLocation, MaterialGrade>, MaterialInstance> INTERNED = new EpochCache<>(MAX_INTERNED, "Material instances");
+    private static final EpochCache<ResourceLocation, ItemStack> DISPLAY_ITEMS = new EpochCache<>(MAX_INTERNED, "Material display items");
 
     private final IMaterial material;
     private final MaterialGrade grade;
     private final ItemStack item;
 
-    private MaterialInstance(IMaterial material) {
-        this(material, MaterialGrade.NONE, material.getDisplayItem(PartType.MAIN, 0));
-    }
-
-    private MaterialInstance(IMaterial material, MaterialGrade grade) {
-        this(material, grade, material.getDisplayItem(PartType.MAIN, 0));
-    }
-
-    private MaterialInstance(IMaterial material, ItemStack craftingItem) {
-        this(material, MaterialGrade.NONE, craftingItem);
+    private MaterialInstance(IMaterial material, MaterialGrade grade, ItemStack craftingItem) {
+        this(material, grade, craftingItem, true);
     }
 
-    private MaterialInstance(IMaterial material, MaterialGrade grade, ItemStack craftingItem) {
+    private MaterialInstance(IMaterial material, MaterialGrade grade, ItemStack craftingItem, boolean copyItem) {
         this.material = material;
         this.grade = grade;
-        this.item = craftingItem.copy();
-        this.item.setCount(1);
+        this.item = copyItem ? craftingItem.copy() : craftingItem;
+        if (this.item.getCount() != 1 && !this.item.isEmpty()) {
+            this.item.setCount(1);
+        }
     }
 
     public static MaterialInstance of(IMaterial material) {
-        return QUICK_CACHE.computeIfAbsent(material.getId(), id -> new MaterialInstance(material));
+        return of(material, MaterialGrade.NONE);
     }
 
     public static MaterialInstance of(IMaterial material, MaterialGrade grade) {
-        return new MaterialInstance(material, grade);
+        return INTERNED.get(Pair.of(material.getId(), grade), key -> {
+            ItemStack displayItem = DISPLAY_ITEMS.get(material.getId(), id -> {
+                ItemStack stack = material.getDisplayItem(PartType.MAIN, 0).copy();
+                if (!stack.isEmpty()) {
+                    stack.setCount(1);
+                }
+                return stack;
+            });
+            return new MaterialInstance(material, grade, displayItem, false);
+        });
     }
 
     public static MaterialInstance of(IMaterial material, ItemStack craftingItem) {
@@ -98,9 +105,15 @@ public final class MaterialInstance implements IMaterialInstance {
         return grade;
     }
 
+    /**
+     * Gets a copy of the crafting item. Instances from {@link #of(IMaterial, MaterialGrade)} are
+     * shared, and share one display item for all grades, so the item itself is never handed out.
+     *
+     * @return A copy of the crafting item
+     */
     @Override
     public ItemStack getItem() {
-        return item;
+        return item.copy();
     }
 
     @Override
@@ -153,8 +166,9 @@ public final class MaterialInstance implements IMaterialInstance {
         IMaterial material = MaterialManager.get(id);
         if (material == null) return null;
 
+        // The stack is not shared with anything, so no need to copy it
         ItemStack stack = readOrGetDefaultItem(material, nbt);
-        return of(material, stack);
+        return new MaterialInstance(material, MaterialGrade.fromStack(stack), stack, false);
     }
 
     private static ItemStack readOrGetDefaultItem(IMaterial material, CompoundNBT nbt) {
@@ -220,7 +234,7 @@ public final class MaterialInstance implements IMaterialInstance {
             IMaterial material = MaterialManager.get(id);
             if (material != null) {
                 MaterialGrade grade = MaterialGrade.fromString(parts[1]);
-                return new MaterialInstance(material, grade);
+                return of(material, grade);
             }
 
             return null;
@@ -229,7 +243,7 @@ public final class MaterialInstance implements IMaterialInstance {
         ResourceLocation id = SilentGear.getIdWithDefaultNamespace(str);
         IMaterial material = MaterialManager.get(id);
         if (material != null) {
-            return new MaterialInstance(material);
+            return of(material);
         }
 
         return null;
@@ -1,6 +1,7 @@
 package net.silentchaos512.gear.gear.material;
 
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.gson.*;
@@ -20,9 +21,13 @@ import net.minecraftforge.fml.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.material.IMaterial;
 import net.silentchaos512.gear.api.parts.IGearPart;
+import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.network.SyncMaterialsPacket;
 import net.silentchaos512.gear.parts.PartConst;
 import net.silentchaos512.gear.parts.PartManager;
+import net.silentchaos512.gear.traits.TraitManager;
+import net.silentchaos512.gear.util.DataEpoch;
+import net.silentchaos512.gear.util.DifferentialReload;
 import net.silentchaos512.gear.util.TextUtil;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
@@ -46,6 +51,12 @@ public class MaterialManager implements IResourceManagerReloadListener {
     private static final Map<ResourceLocation, IMaterial> MAP = Collections.synchronizedMap(new LinkedHashMap<>());
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
     private static final Collection<String> INGREDIENT_CONFLICT_LIST = new ArrayList<>();
+    private static final DifferentialReload<IMaterial> DIFF = new DifferentialReload<>();
+
+    // Secondary indexes, rebuilt after every reload and sync
+    private static volatile Map<ResourceLocation, List<IMaterial>> childrenByParent = ImmutableMap.of();
+    private static volatile Map<PartType, List<IMaterial>> materialsByPartType = ImmutableMap.of();
+    private static volatile Map<PartType, Map<Integer, List<IMaterial>>> materialsByTier = ImmutableMap.of();
 
     @Override
     public void onResourceManagerReload(IResourceManager resourceManager) {
@@ -58,6 +69,8 @@ public class MaterialManager implements IResourceManagerReloadListener {
             MAP.clear();
             ERROR_LIST.clear();
             SilentGear.LOGGER.info(MARKER, "Reloading material files");
+            // Materials hold trait instances, so they can't be kept if traits changed
+            DIFF.begin(TraitManager.getLastChangedIds().isEmpty());
 
             for (ResourceLocation id : resources) {
                 String path = id.getPath().substring(DATA_PATH.length() + 1, id.getPath().length() - ".json".length());
@@ -72,7 +85,12 @@ public class MaterialManager implements IResourceManagerReloadListener {
                     } else if (!CraftingHelper.processConditions(json, "conditions")) {
                         SilentGear.LOGGER.info(MARKER, "Skipping loading material {} as its conditions were not met", name);
                     } else {
-                        IMaterial material = MaterialSerializers.deserialize(name, packName, json);
+                        String hash = DifferentialReload.hash(packName, json);
+                        IMaterial material = DIFF.getUnchanged(name, hash);
+                        if (material == null) {
+                            material = MaterialSerializers.deserialize(name, packName, json);
+                        }
+                        DIFF.put(name, hash, material);
                         MAP.put(material.getId(), material);
                         addIngredientChecks(ingredientConflicts, material, json);
                     }
@@ -84,11 +102,67 @@ public class MaterialManager implements IResourceManagerReloadListener {
                     ERROR_LIST.add(String.format("%s (%s)", name, packName));
                 }
             }
+
+            compileMaterials();
+            buildIndexes();
+
+            Set<ResourceLocation> changed = DIFF.finish();
+            SilentGear.LOGGER.info(MARKER, "Loaded {} materials ({} changed)", MAP.size(), changed.size());
+            if (!changed.isEmpty()) {
+                DataEpoch.bump("materials reloaded");
+            }
         }
 
         checkForIngredientConflicts(ingredientConflicts);
     }
 
+    private static void compileMaterials() {
+        // Flatten parent chains now that all materials are available
+        MAP.values().forEach(material -> {
+            if (material instanceof PartMaterial) {
+                ((PartMaterial) material).compile();
+            }
+        });
+    }
+
+    private static void buildIndexes() {
+        Map<ResourceLocation, ImmutableList.Builder<IMaterial>> children = new LinkedHashMap<>();
+        Map<PartType, ImmutableList.Builder<IMaterial>> byPartType = new LinkedHashMap<>();
+        Map<PartType, Map<Integer, ImmutableList.Builder<IMaterial>>> byTier = new LinkedHashMap<>();
+
+        for (IMaterial material : MAP.values()) {
+            IMaterial parent = material.getParent();
+            if (parent != null) {
+                children.computeIfAbsent(parent.getId(), id -> ImmutableList.builder()).add(material);
+            }
+
+            for (PartType partType : PartType.getValues()) {
+                if (material.allowedInPart(partType)) {
+                    byPartType.computeIfAbsent(partType, pt -> ImmutableList.builder()).add(material);
+                    byTier.computeIfAbsent(partType, pt -> new LinkedHashMap<>())
+                            .computeIfAbsent(material.getTier(partType), tier -> ImmutableList.builder())
+                            .add(material);
+                }
+            }
+        }
+
+        ImmutableMap.Builder<ResourceLocation, List<IMaterial>> childrenBuilder = ImmutableMap.builder();
+        children.forEach((id, builder) -> childrenBuilder.put(id, builder.build()));
+        childrenByParent = childrenBuilder.build();
+
+        ImmutableMap.Builder<PartType, List<IMaterial>> partTypeBuilder = ImmutableMap.builder();
+        byPartType.forEach((partType, builder) -> partTypeBuilder.put(partType, builder.build()));
+        materialsByPartType = partTypeBuilder.build();
+
+        ImmutableMap.Builder<PartType, Map<Integer, List<IMaterial>>> tierBuilder = ImmutableMap.builder();
+        byTier.forEach((partType, map) -> {
+            ImmutableMap.Builder<Integer, List<IMaterial>> builder = ImmutableMap.builder();
+            map.forEach((tier, list) -> builder.put(tier, list.build()));
+            tierBuilder.put(partType, builder.build());
+        });
+        materialsByTier = tierBuilder.build();
+    }
+
     private static void addIngredientChecks(Multimap<String, IMaterial> map, IMaterial material, JsonObject json) {
         JsonObject craftingItemsJson = json.getAsJsonObject("crafting_items");
         if (craftingItemsJson != null && craftingItemsJson.has("main")) {
@@ -109,6 +183,16 @@ public class MaterialManager implements IResourceManagerReloadListener {
         }
     }
 
+    /**
+     * Gets the IDs of materials which were added, changed, or removed by the last data pack reload.
+     * Materials not in this set kept the same object instance.
+     *
+     * @return Changed material IDs (immutable)
+     */
+    public static Set<ResourceLocation> getLastChangedIds() {
+        return DIFF.getLastChanged();
+    }
+
     private static boolean isBuiltInPart(IGearPart part) {
         IGearPart example = PartManager.get(PartConst.MAIN_EXAMPLE);
         return example == null || part.getPackName().equals(example.getPackName());
@@ -126,12 +210,38 @@ public class MaterialManager implements IResourceManagerReloadListener {
         }
     }
 
+    /**
+     * Gets the materials which have the given material as their parent. The returned list is
+     * immutable.
+     *
+     * @param material The parent material
+     * @return Child materials, in load order
+     */
     public static List<IMaterial> getChildren(IMaterial material) {
-        synchronized (MAP) {
-            return MAP.values().stream()
-                    .filter(m -> m.getParent() == material)
-                    .collect(Collectors.toList());
-        }
+        return childrenByParent.getOrDefault(material.getId(), ImmutableList.of());
+    }
+
+    /**
+     * Gets all materials (including children) which are allowed in the given part type. The
+     * returned list is immutable.
+     *
+     * @param partType The part type
+     * @return Materials allowed in the part type, in load order
+     */
+    public static List<IMaterial> getValues(PartType partType) {
+        return materialsByPartType.getOrDefault(partType, ImmutableList.of());
+    }
+
+    /**
+     * Gets all materials (including children) which are allowed in the given part type and have
+     * the given tier for that part type. The returned list is immutable.
+     *
+     * @param partType The part type
+     * @param tier     The material tier
+     * @return Materials of the tier, in load order
+     */
+    public static List<IMaterial> getValues(PartType partType, int tier) {
+        return materialsByTier.getOrDefault(partType, ImmutableMap.of()).getOrDefault(tier, ImmutableList.of());
     }
 
     @Nullable
@@ -164,6 +274,9 @@ public class MaterialManager implements IResourceManagerReloadListener {
                 mat.retainData(oldMaterials.get(mat.getId()));
                 MAP.put(mat.getId(), mat);
             });
+            compileMaterials();
+            buildIndexes();
+            DataEpoch.bump("materials synced");
             SilentGear.LOGGER.info("Read {} materials from server", MAP.size());
         }
         ctx.get().setPacketHandled(true);
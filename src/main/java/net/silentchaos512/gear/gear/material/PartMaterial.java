@@ -1,5 +1,9 @@
 package net.silentchaos512.gear.gear.material;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -19,11 +23,13 @@ import net.silentchaos512.gear.api.item.ICoreItem;
 import net.silentchaos512.gear.api.material.*;
 import net.silentchaos512.gear.api.parts.PartTraitInstance;
 import net.silentchaos512.gear.api.parts.PartType;
+import net.silentchaos512.gear.api.stats.IItemStat;
 import net.silentchaos512.gear.api.stats.ItemStat;
 import net.silentchaos512.gear.api.stats.ItemStats;
 import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.stats.StatModifierMap;
 import net.silentchaos512.gear.client.material.MaterialDisplayManager;
+import net.silentchaos512.gear.network.CompactPacketBuffer;
 import net.silentchaos512.gear.network.SyncMaterialCraftingItemsPacket;
 import net.silentchaos512.gear.parts.PartTextureType;
 import net.silentchaos512.gear.util.GearHelper;
@@ -32,6 +38,7 @@ import net.silentchaos512.utils.Color;
 
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class PartMaterial implements IMaterial {
     private static final StatModifierMap EMPTY_STAT_MAP = new StatModifierMap();
@@ -54,6 +61,9 @@ public final class PartMaterial implements IMaterial {
     private final Map<String, MaterialLayerList> display = new HashMap<>();
     private final List<String> blacklistedGearTypes = new ArrayList<>();
 
+    // Parent chain resolved into flat tables, see compile
+    @Nullable private Resolved resolved;
+
     private PartMaterial(ResourceLocation id, String packName) {
         this.materialId = id;
         this.packName = packName;
@@ -85,6 +95,9 @@ public final class PartMaterial implements IMaterial {
 
     @Override
     public int getTier(PartType partType) {
+        if (resolved != null) {
+            return resolved.tier;
+        }
         if (tier < 0 && getParent() != null) {
             return getParent().getTier(partType);
         }
@@ -113,6 +126,9 @@ public final class PartMaterial implements IMaterial {
 
     @Override
     public Set<PartType> getPartTypes() {
+        if (resolved != null) {
+            return resolved.partTypes;
+        }
         // Grab the part types from this part and its parent(s)
         return Sets.union(stats.keySet(), getParentOptional()
                 .<Set<PartType>>map(m -> new LinkedHashSet<>(m.getPartTypes())).orElse(Collections.emptySet()));
@@ -120,6 +136,9 @@ public final class PartMaterial implements IMaterial {
 
     @Override
     public boolean allowedInPart(PartType partType) {
+        if (resolved != null) {
+            return resolved.partTypes.contains(partType);
+        }
         return stats.containsKey(partType) || (getParent() != null && getParent().allowedInPart(partType));
     }
 
@@ -134,6 +153,10 @@ public final class PartMaterial implements IMaterial {
 
     @Override
     public Collection<StatInstance> getStatModifiers(ItemStat stat, PartType partType, ItemStack gear) {
+        if (resolved != null) {
+            ImmutableListMultimap<IItemStat, StatInstance> map = resolved.stats.get(partType);
+            return map != null ? map.get(stat) : Collections.emptyList();
+        }
         Collection<StatInstance> ret = new ArrayList<>(stats.getOrDefault(partType, EMPTY_STAT_MAP).get(stat));
         if (getParent() != null) {
             ret.addAll(getParent().getStatModifiers(stat, partType, gear));
@@ -143,6 +166,9 @@ public final class PartMaterial implements IMaterial {
 
     @Override
     public List<PartTraitInstance> getTraits(PartType partType, ItemStack gear) {
+        if (resolved != null) {
+            return resolved.traits.getOrDefault(partType, Collections.emptyList());
+        }
         List<PartTraitInstance> ret = new ArrayList<>(traits.getOrDefault(partType, Collections.emptyList()));
         if (getParent() != null) {
             ret.addAll(getParent().getTraits(partType, gear));
@@ -188,9 +214,20 @@ public final class PartMaterial implements IMaterial {
     @Deprecated
     @Override
     public IMaterialLayerList getMaterialDisplay(ItemStack gear, PartType partType) {
-        if (!gear.isEmpty()) {
-            GearType gearType = ((ICoreItem) gear.getItem()).getGearType();
+        GearType gearType = !gear.isEmpty() ? ((ICoreItem) gear.getItem()).getGearType() : null;
+        if (resolved != null) {
+            if (gearType == null) {
+                return resolved.defaultDisplay.computeIfAbsent(partType, pt -> lookUpMaterialDisplay(null, pt));
+            }
+            return resolved.display
+                    .computeIfAbsent(partType, pt -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(gearType, gt -> lookUpMaterialDisplay(gt, partType));
+        }
+        return lookUpMaterialDisplay(gearType, partType);
+    }
 
+    private IMaterialLayerList lookUpMaterialDisplay(@Nullable GearType gearType, PartType partType) {
+        if (gearType != null) {
             // Gear class-specific override
             String gearTypeKey = partType.getName() + "/" + gearType.getName();
             if (display.containsKey(gearTypeKey)) {
@@ -242,6 +279,36 @@ public final class PartMaterial implements IMaterial {
         }
     }
 
+    /**
+     * Resolves the parent chain into flat, immutable tables of stats, traits, tier and part types.
+     * Must be called again whenever this material or any of its parents change (reloads and sync
+     * packets), which {@link MaterialManager} takes care of. Materials with a parent which is not a
+     * {@code PartMaterial} are left unresolved and fall back to querying the parent.
+     */
+    void compile() {
+        this.resolved = null;
+
+        List<PartMaterial> chain = new ArrayList<>();
+        Set<ResourceLocation> visited = new HashSet<>();
+        PartMaterial current = this;
+        while (current != null) {
+            if (!visited.add(current.materialId)) {
+                SilentGear.LOGGER.error(MaterialManager.MARKER, "Material {} has a circular parent chain", this.materialId);
+                break;
+            }
+            chain.add(current);
+
+            IMaterial parentMaterial = current.getParent();
+            if (parentMaterial != null && !(parentMaterial instanceof PartMaterial)) {
+                // Unknown material type, can't safely flatten this one
+                return;
+            }
+            current = (PartMaterial) parentMaterial;
+        }
+
+        this.resolved = new Resolved(chain);
+    }
+
     @Override
     public String toString() {
         return "PartMaterial{" +
@@ -251,6 +318,50 @@ public final class PartMaterial implements IMaterial {
                 '}';
     }
 
+    private static final class Resolved {
+        private final int tier;
+        private final Set<PartType> partTypes;
+        private final Map<PartType, ImmutableListMultimap<IItemStat, StatInstance>> stats;
+        private final Map<PartType, List<PartTraitInstance>> traits;
+        // Display lookups are filled in as they are requested
+        private final Map<PartType, Map<GearType, IMaterialLayerList>> display = new ConcurrentHashMap<>();
+        private final Map<PartType, IMaterialLayerList> defaultDisplay = new ConcurrentHashMap<>();
+
+        private Resolved(List<PartMaterial> chain) {
+            // Same order as the unresolved queries: the material itself first, then its parents
+            int tier = -1;
+            for (PartMaterial material : chain) {
+                tier = material.tier;
+                if (tier >= 0) break;
+            }
+            this.tier = tier;
+
+            ImmutableSet.Builder<PartType> partTypes = ImmutableSet.builder();
+            Map<PartType, ImmutableListMultimap.Builder<IItemStat, StatInstance>> stats = new LinkedHashMap<>();
+            Map<PartType, ImmutableList.Builder<PartTraitInstance>> traits = new LinkedHashMap<>();
+
+            for (PartMaterial material : chain) {
+                partTypes.addAll(material.stats.keySet());
+                material.stats.forEach((partType, map) -> {
+                    ImmutableListMultimap.Builder<IItemStat, StatInstance> builder = stats.computeIfAbsent(partType, pt -> ImmutableListMultimap.builder());
+                    map.forEach(builder::put);
+                });
+                material.traits.forEach((partType, list) ->
+                        traits.computeIfAbsent(partType, pt -> ImmutableList.builder()).addAll(list));
+            }
+
+            this.partTypes = partTypes.build();
+
+            ImmutableMap.Builder<PartType, ImmutableListMultimap<IItemStat, StatInstance>> statsBuilder = ImmutableMap.builder();
+            stats.forEach((partType, builder) -> statsBuilder.put(partType, builder.build()));
+            this.stats = statsBuilder.build();
+
+            ImmutableMap.Builder<PartType, List<PartTraitInstance>> traitsBuilder = ImmutableMap.builder();
+            traits.forEach((partType, builder) -> traitsBuilder.put(partType, builder.build()));
+            this.traits = traitsBuilder.build();
+        }
+    }
+
     public static final class Serializer implements IMaterialSerializer<PartMaterial> {
         static final int PACK_NAME_MAX_LENGTH = 32;
 
@@ -448,12 +559,12 @@ public final class PartMaterial implements IMaterial {
             buffer.writeByte(material.tier);
             buffer.writeBoolean(material.visible);
             buffer.writeBoolean(material.canSalvage);
-            material.ingredient.write(buffer);
+            CompactPacketBuffer.writeIngredient(buffer, material.ingredient);
 
             buffer.writeByte(material.partSubstitutes.size());
             material.partSubstitutes.forEach((type, ing) -> {
                 buffer.writeResourceLocation(type.getName());
-                ing.write(buffer);
+                CompactPacketBuffer.writeIngredient(buffer, ing);
             });
 
             buffer.writeByte(material.blacklistedGearTypes.size());
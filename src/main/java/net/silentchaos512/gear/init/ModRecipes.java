@@ -56,6 +56,7 @@ public final class ModRecipes {
         CraftingHelper.register(GearPartIngredient.Serializer.NAME, GearPartIngredient.Serializer.INSTANCE);
         CraftingHelper.register(GearTypeIngredient.Serializer.NAME, GearTypeIngredient.Serializer.INSTANCE);
         CraftingHelper.register(PartMaterialIngredient.Serializer.NAME, PartMaterialIngredient.Serializer.INSTANCE);
+        CraftingHelper.register(TagReferenceIngredient.Serializer.NAME, TagReferenceIngredient.Serializer.INSTANCE);
 
         if (SilentGear.isDevBuild()) {
 //            MinecraftForge.EVENT_BUS.addListener(ModRecipes::onPlayerJoinServer);
@@ -10,6 +10,7 @@ import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.config.CompiledConfig;
 import net.silentchaos512.gear.config.Config;
 
 import java.lang.reflect.Field;
@@ -60,7 +61,7 @@ public final class NerfedGear {
     public static void onBreakSpeed(PlayerEvent.BreakSpeed event) {
         ItemStack heldItem = event.getPlayer().getHeldItemMainhand();
         if (isNerfedItem(heldItem.getItem())) {
-            float newSpeed = event.getNewSpeed() * Config.Common.nerfedItemHarvestSpeedMulti.get().floatValue();
+            float newSpeed = event.getNewSpeed() * CompiledConfig.common().nerfedItemHarvestSpeedMulti;
             event.setNewSpeed(Math.max(newSpeed, 1));
         }
     }
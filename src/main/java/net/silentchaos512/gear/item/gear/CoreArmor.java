@@ -2,6 +2,7 @@ package net.silentchaos512.gear.item.gear;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import com.mojang.datafixers.util.Pair;
 import net.minecraft.client.util.ITooltipFlag;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
@@ -31,6 +32,7 @@ import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.parts.PartData;
 import net.silentchaos512.gear.util.Const;
+import net.silentchaos512.gear.util.EpochCache;
 import net.silentchaos512.gear.util.GearData;
 import net.silentchaos512.gear.util.GearHelper;
 import net.silentchaos512.gear.util.TraitHelper;
@@ -49,6 +51,8 @@ public class CoreArmor extends DyeableArmorItem implements ICoreArmor {
     private static final float[] ABSORPTION_RATIO_BY_SLOT = {0.175f, 0.3f, 0.4f, 0.125f};
     // Same values as in ArmorItem.
     private static final int[] MAX_DAMAGE_ARRAY = {13, 15, 16, 11};
+    // Resolved armor textures and colors, keyed by model key and slot (client only)
+    private static final EpochCache<Pair<String, EquipmentSlotType>, ArmorRenderInfo> RENDER_INFO = new EpochCache<>(1024, "Armor textures");
 
     public CoreArmor(EquipmentSlotType slot) {
         super(ArmorMaterial.DIAMOND, slot, GearHelper.getBuilder(null));
@@ -208,6 +212,34 @@ public class CoreArmor extends DyeableArmorItem implements ICoreArmor {
         if ("overlay".equals(type))
             return SilentGear.MOD_ID + ":textures/models/armor/all_layer_" + layer + "_overlay.png";
 
+        return getRenderInfo(stack, slot).texturePrefix
+                + (type != null ? "_" + type : "")
+                + ".png";
+    }
+
+    @Override
+    public boolean hasColor(ItemStack stack) {
+        return true;
+    }
+
+    @Override
+    public int getColor(ItemStack stack) {
+        return getRenderInfo(stack, this.getEquipmentSlot()).color;
+    }
+
+    private static ArmorRenderInfo getRenderInfo(ItemStack stack, EquipmentSlotType slot) {
+        // The model key covers the item and all its parts and materials, so it determines both the
+        // texture and the color. Material display reloads bump the data epoch, clearing the cache.
+        String modelKey = GearData.getModelKey(stack, 0);
+        if (modelKey.isEmpty()) {
+            return computeRenderInfo(stack, slot);
+        }
+        return RENDER_INFO.get(Pair.of(modelKey, slot), key -> computeRenderInfo(stack, slot));
+    }
+
+    private static ArmorRenderInfo computeRenderInfo(ItemStack stack, EquipmentSlotType slot) {
+        int layer = slot == EquipmentSlotType.LEGS ? 2 : 1;
+
         // New material-based armor
         MaterialInstance material = GearData.getPrimaryMainMaterial(stack);
         if (material != null) {
@@ -216,11 +248,10 @@ public class CoreArmor extends DyeableArmorItem implements ICoreArmor {
                 MaterialLayer materialLayer = materialModel.getLayers(GearType.ARMOR, PartType.MAIN).getFirstLayer();
                 if (materialLayer != null) {
                     ResourceLocation tex = materialLayer.getTextureId();
-                    return tex.getNamespace() + ":textures/models/armor/"
+                    return new ArmorRenderInfo(tex.getNamespace() + ":textures/models/armor/"
                             + tex.getPath()
-                            + "_layer_" + layer
-                            + (type != null ? "_" + type : "")
-                            + ".png";
+                            + "_layer_" + layer,
+                            materialLayer.getColor());
                 }
             }
         }
@@ -231,36 +262,26 @@ public class CoreArmor extends DyeableArmorItem implements ICoreArmor {
             part = PartData.ofNullable(PartType.MAIN.getFallbackPart());
         }
         if (part == null) {
-            return "silentgear:textures/models/armor/generic_hc_layer_" + layer + (type != null ? "_" + type : "") + ".png";
+            return new ArmorRenderInfo("silentgear:textures/models/armor/generic_hc_layer_" + layer, Color.VALUE_WHITE);
         }
 
         // Actual armor texture
         IPartDisplay props = part.getPart().getDisplayProperties(part, stack, 0);
-        return props.getTextureDomain() + ":textures/models/armor/"
+        return new ArmorRenderInfo(props.getTextureDomain() + ":textures/models/armor/"
                 + props.getArmorTexturePrefix()
-                + "_layer_" + layer
-                + (type != null ? "_" + type : "")
-                + ".png";
+                + "_layer_" + layer,
+                Color.VALUE_WHITE);
     }
 
-    @Override
-    public boolean hasColor(ItemStack stack) {
-        return true;
-    }
+    private static final class ArmorRenderInfo {
+        // Texture path, without the type suffix or file extension
+        private final String texturePrefix;
+        private final int color;
 
-    @Override
-    public int getColor(ItemStack stack) {
-        MaterialInstance material = GearData.getPrimaryMainMaterial(stack);
-        if (material != null) {
-            IMaterialDisplay materialModel = MaterialDisplayManager.get(material.getMaterial());
-            if (materialModel != null) {
-                MaterialLayer materialLayer = materialModel.getLayers(GearType.ARMOR, PartType.MAIN).getFirstLayer();
-                if (materialLayer != null) {
-                    return materialLayer.getColor();
-                }
-            }
+        private ArmorRenderInfo(String texturePrefix, int color) {
+            this.texturePrefix = texturePrefix;
+            this.color = color;
         }
-        return Color.VALUE_WHITE;
     }
 
     @Override
@@ -7,13 +7,14 @@ import net.minecraft.item.ItemUseContext;
 import net.minecraft.util.ActionResultType;
 import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MutableBoundingBox;
 import net.minecraftforge.fml.network.NetworkDirection;
 import net.silentchaos512.gear.api.item.GearType;
 import net.silentchaos512.gear.config.Config;
-import net.silentchaos512.gear.init.ModTags;
 import net.silentchaos512.gear.network.Network;
 import net.silentchaos512.gear.network.ProspectingResultPacket;
 import net.silentchaos512.gear.util.GearHelper;
+import net.silentchaos512.gear.util.ProspectingScanner;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -51,22 +52,16 @@ public class CoreProspectorHammer extends CorePickaxe {
     public Set<BlockState> getTargetedBlocks(ItemUseContext context, int range, Direction face) {
         Set<BlockState> matches = new HashSet<>();
 
+        // A tunnel 3 blocks wide and high, extending range blocks into the wall
         Direction direction = face.getOpposite();
-        for (int i = 0; i < range; ++i) {
-            for (int j = -1; j <= 1; ++j) {
-                for (int k = -1; k <= 1; ++k) {
-                    BlockPos pos = context.getPos()
-                            .offset(direction, i)
-                            .offset(direction.rotateYCCW(), j)
-                            .offset(Direction.DOWN, k);
-
-                    BlockState state = context.getWorld().getBlockState(pos);
-                    if (state.isIn(ModTags.Blocks.PROSPECTOR_HAMMER_TARGETS)) {
-                        matches.add(state);
-                    }
-                }
-            }
-        }
+        BlockPos corner1 = context.getPos()
+                .offset(direction.rotateYCCW(), -1)
+                .offset(Direction.DOWN, -1);
+        BlockPos corner2 = context.getPos()
+                .offset(direction, range - 1)
+                .offset(direction.rotateYCCW(), 1)
+                .offset(Direction.DOWN, 1);
+        ProspectingScanner.scan(context.getWorld(), new MutableBoundingBox(corner1, corner2), matches);
 
         return matches;
     }
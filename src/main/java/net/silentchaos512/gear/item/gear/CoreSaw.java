@@ -3,15 +3,15 @@ package net.silentchaos512.gear.item.gear;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.ServerPlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.IBlockReader;
 import net.minecraft.world.World;
-import net.minecraftforge.common.MinecraftForge;
-import net.minecraftforge.common.ToolType;
-import net.minecraftforge.event.world.BlockEvent;
+import net.minecraft.world.server.ServerWorld;
 import net.silentchaos512.gear.api.item.GearType;
+import net.silentchaos512.gear.util.TreeFeller;
 
 public class CoreSaw extends CoreAxe {
     @Override
@@ -34,8 +34,9 @@ public class CoreSaw extends CoreAxe {
                     return false;
                 }
 
-                TreeBreakResult result = new TreeBreakResult();
-                breakTree(result, world, x, y, z, x, y, z, stack, state, player);
+                if (world instanceof ServerWorld && player instanceof ServerPlayerEntity) {
+                    TreeFeller.fell((ServerWorld) world, (ServerPlayerEntity) player, stack, pos);
+                }
                 return true;
             }
         }
@@ -72,57 +73,4 @@ public class CoreSaw extends CoreAxe {
 
         return numLeaves > 3;
     }
-
-    private void breakTree(TreeBreakResult result, World world, int x, int y, int z, int xStart, int yStart, int zStart, ItemStack tool, BlockState state, PlayerEntity player) {
-        Block block = state.getBlock();
-        BlockPos pos = new BlockPos(x, y, z);
-
-        for (int xPos = x - 1; xPos <= x + 1; ++xPos) {
-            for (int yPos = y; yPos <= y + 1; ++yPos) {
-                for (int zPos = z - 1; zPos <= z + 1; ++zPos) {
-                    BlockPos localPos = new BlockPos(xPos, yPos, zPos);
-                    BlockState localState = world.getBlockState(localPos);
-                    Block localBlock = localState.getBlock();
-                    if (block == localBlock) {
-                        int harvestLevel = localBlock.getHarvestLevel(localState);
-                        float localHardness = localState.getBlockHardness(world, localPos);
-
-                        if (harvestLevel <= getHarvestLevel(tool, ToolType.AXE, player, localState) && localHardness >= 0) {
-
-                            // Block break event
-                            BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(world, localPos, localState, player);
-                            // event.setCanceled(cancel);
-                            MinecraftForge.EVENT_BUS.post(event);
-                            boolean cancel = event.isCanceled();
-
-                            int xDist = xPos - xStart;
-                            int yDist = yPos - yStart;
-                            int zDist = zPos - zStart;
-
-                            if (9 * xDist * xDist + yDist * yDist + 9 * zDist * zDist < 1000) {
-                                if (cancel) {
-                                    breakTree(result, world, xPos, yPos, zPos, xStart, yStart, zStart, tool, state, player);
-                                } else {
-                                    if (!player.abilities.isCreativeMode) {
-                                        localBlock.harvestBlock(world, player, pos, state, world.getTileEntity(pos), tool);
-                                        onBlockDestroyed(tool, world, localState, localPos, player);
-                                        ++result.blocksBroken;
-                                    }
-
-                                    world.removeBlock(localPos, false);
-                                    if (!world.isRemote) {
-                                        breakTree(result, world, xPos, yPos, zPos, xStart, yStart, zStart, tool, state, player);
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-    }
-
-    private static class TreeBreakResult {
-        int blocksBroken;
-    }
 }
@@ -0,0 +1,167 @@
+package net.silentchaos512.gear.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.network.PacketBuffer;
+import net.silentchaos512.gear.crafting.ingredient.TagReferenceIngredient;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A packet buffer used for the large data sync packets. Strings (and therefore resource locations
+ * and text components) are written once to a shared string table and referenced by index, tag
+ * ingredients are sent as tag references, and the whole payload is deflate-compressed.
+ * <p>
+ * Packets use {@link #encode(PacketBuffer, Consumer)} and {@link #decode(PacketBuffer, Function)}
+ * to wrap their normal read and write code.
+ */
+public final class CompactPacketBuffer extends PacketBuffer {
+    // Limit for the inflated payload, to avoid decompression bombs
+    private static final int MAX_PAYLOAD_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_TABLE_STRING_LENGTH = 262144;
+
+    private final List<String> stringTable;
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+
+    private CompactPacketBuffer(ByteBuf wrapped, List<String> stringTable) {
+        super(wrapped);
+        this.stringTable = stringTable;
+    }
+
+    public static void encode(PacketBuffer buffer, Consumer<PacketBuffer> writer) {
+        CompactPacketBuffer body = new CompactPacketBuffer(Unpooled.buffer(), new ArrayList<>());
+        PacketBuffer payload = new PacketBuffer(Unpooled.buffer());
+        try {
+            writer.accept(body);
+
+            payload.writeVarInt(body.stringTable.size());
+            body.stringTable.forEach(s -> payload.writeString(s, MAX_TABLE_STRING_LENGTH));
+            payload.writeBytes(body);
+
+            byte[] bytes = new byte[payload.readableBytes()];
+            payload.readBytes(bytes);
+            buffer.writeVarInt(bytes.length);
+            buffer.writeByteArray(deflate(bytes));
+        } finally {
+            body.release();
+            payload.release();
+        }
+    }
+
+    public static <T> T decode(PacketBuffer buffer, Function<PacketBuffer, T> reader) {
+        int size = buffer.readVarInt();
+        if (size < 0 || size > MAX_PAYLOAD_SIZE) {
+            throw new DecoderException("Compact packet payload is too large: " + size);
+        }
+
+        ByteBuf payload = Unpooled.wrappedBuffer(inflate(buffer.readByteArray(), size));
+        try {
+            PacketBuffer tableReader = new PacketBuffer(payload);
+            int tableSize = tableReader.readVarInt();
+            List<String> stringTable = new ArrayList<>(tableSize);
+            for (int i = 0; i < tableSize; ++i) {
+                stringTable.add(tableReader.readString(MAX_TABLE_STRING_LENGTH));
+            }
+
+            return reader.apply(new CompactPacketBuffer(payload, stringTable));
+        } finally {
+            payload.release();
+        }
+    }
+
+    /**
+     * Write an ingredient. When writing to a compact buffer, tag ingredients are sent as references
+     * ({@link TagReferenceIngredient}) instead of being expanded into item lists. Read with
+     * {@link Ingredient#read(PacketBuffer)} as usual.
+     *
+     * @param buffer     The buffer
+     * @param ingredient The ingredient to write
+     */
+    public static void writeIngredient(PacketBuffer buffer, Ingredient ingredient) {
+        if (buffer instanceof CompactPacketBuffer) {
+            TagReferenceIngredient.compact(ingredient).write(buffer);
+        } else {
+            ingredient.write(buffer);
+        }
+    }
+
+    @Override
+    public PacketBuffer writeString(String string, int maxLength) {
+        if (string.length() > maxLength) {
+            throw new EncoderException("String too big (was " + string.length() + " characters, max " + maxLength + ")");
+        }
+
+        Integer index = this.stringIndices.get(string);
+        if (index == null) {
+            index = this.stringTable.size();
+            this.stringTable.add(string);
+            this.stringIndices.put(string, index);
+        }
+        this.writeVarInt(index);
+        return this;
+    }
+
+    @Override
+    public String readString(int maxLength) {
+        int index = this.readVarInt();
+        if (index < 0 || index >= this.stringTable.size()) {
+            throw new DecoderException("Invalid string table index: " + index);
+        }
+
+        String string = this.stringTable.get(index);
+        if (string.length() > maxLength) {
+            throw new DecoderException("The received string length is longer than maximum allowed (" + string.length() + " > " + maxLength + ")");
+        }
+        return string;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input, int size) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            byte[] output = new byte[size];
+            int offset = 0;
+            while (offset < size && !inflater.finished()) {
+                int count = inflater.inflate(output, offset, size - offset);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                offset += count;
+            }
+            if (offset != size) {
+                throw new DecoderException("Compact packet payload is truncated (" + offset + " of " + size + " bytes)");
+            }
+            return output;
+        } catch (DataFormatException ex) {
+            throw new DecoderException("Compact packet payload is corrupt", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
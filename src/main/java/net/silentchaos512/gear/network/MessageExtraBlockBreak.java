@@ -1,62 +1,54 @@
 package net.silentchaos512.gear.network;
 
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
-
-public class MessageExtraBlockBreak /*extends MessageSL*/ {
-    public int entityID = 0;
-    public int numBlocks = 0;
-    public int progress = 0;
-    int[][] positions = new int[numBlocks][3];
-
-    public MessageExtraBlockBreak() {
-    }
-
-    public MessageExtraBlockBreak(int entityID, int progress, BlockPos... positions) {
-        this.entityID = entityID;
-        this.numBlocks = positions.length;
+import net.minecraftforge.fml.network.NetworkEvent;
+import net.silentchaos512.gear.client.event.ExtraBlockBreakHandler;
+
+import java.util.function.Supplier;
+
+/**
+ * Break progress of an AOE tool. Only the targeted block and face are sent; the client works out
+ * the extra blocks from the breaking player's tool, the same way the server does when the blocks
+ * are broken.
+ */
+public class MessageExtraBlockBreak {
+    private final int breakerId;
+    private final BlockPos pos;
+    private final Direction face;
+    private final int progress;
+
+    /**
+     * @param breakerId The entity ID of the player
+     * @param pos       The block the player is breaking
+     * @param face      The face of the block the player is looking at
+     * @param progress  Break progress from 0 to 9, or -1 if the player stopped breaking
+     */
+    public MessageExtraBlockBreak(int breakerId, BlockPos pos, Direction face, int progress) {
+        this.breakerId = breakerId;
+        this.pos = pos;
+        this.face = face;
         this.progress = progress;
-        this.positions = new int[numBlocks][3];
-
-        for (int i = 0; i < numBlocks; ++i) {
-            BlockPos pos = positions[i];
-            this.positions[i][0] = pos.getX();
-            this.positions[i][1] = pos.getY();
-            this.positions[i][2] = pos.getZ();
-        }
     }
 
-    /*
-    @Override
-    public void fromBytes(ByteBuf buf) {
-        super.fromBytes(buf);
-
-        this.positions = new int[this.numBlocks][3];
-        for (int i = 0; i < this.numBlocks; ++i) {
-            this.positions[i][0] = buf.readInt();
-            this.positions[i][1] = buf.readInt();
-            this.positions[i][2] = buf.readInt();
-        }
+    public static MessageExtraBlockBreak decode(PacketBuffer buffer) {
+        int breakerId = buffer.readVarInt();
+        BlockPos pos = buffer.readBlockPos();
+        Direction face = Direction.byIndex(buffer.readByte());
+        int progress = buffer.readByte();
+        return new MessageExtraBlockBreak(breakerId, pos, face, progress);
     }
 
-    @Override
-    public void toBytes(ByteBuf buf) {
-        super.toBytes(buf);
-
-        for (int i = 0; i < this.numBlocks; ++i) {
-            buf.writeInt(this.positions[i][0]);
-            buf.writeInt(this.positions[i][1]);
-            buf.writeInt(this.positions[i][2]);
-        }
+    public static void encode(MessageExtraBlockBreak msg, PacketBuffer buffer) {
+        buffer.writeVarInt(msg.breakerId);
+        buffer.writeBlockPos(msg.pos);
+        buffer.writeByte(msg.face.getIndex());
+        buffer.writeByte(msg.progress);
     }
 
-    @Override
-    public IMessage handleMessage(MessageContext context) {
-        BlockPos[] positions = new BlockPos[this.numBlocks];
-        for (int i = 0; i < this.numBlocks; ++i)
-            positions[i] = new BlockPos(this.positions[i][0], this.positions[i][1], this.positions[i][2]);
-        ExtraBlockBreakHandler.INSTANCE.sendBlockBreakProgress(this.entityID, positions, this.progress);
-
-        return null;
+    public void handle(Supplier<NetworkEvent.Context> context) {
+        context.get().enqueueWork(() -> ExtraBlockBreakHandler.INSTANCE.sendBlockBreakProgress(this.breakerId, this.pos, this.face, this.progress));
+        context.get().setPacketHandled(true);
     }
-    */
 }
@@ -15,7 +15,7 @@ import java.util.Objects;
 
 public final class Network {
     private static final ResourceLocation NAME = new ResourceLocation(SilentGear.MOD_ID, "network");
-    private static final String VERSION = "sgear-net4";
+    private static final String VERSION = "sgear-net6";
 
     public static SimpleChannel channel;
 
@@ -98,6 +98,11 @@ public final class Network {
                 .encoder(ProspectingResultPacket::encode)
                 .consumer(ProspectingResultPacket::handle)
                 .add();
+        channel.messageBuilder(MessageExtraBlockBreak.class, 12, NetworkDirection.PLAY_TO_CLIENT)
+                .decoder(MessageExtraBlockBreak::decode)
+                .encoder(MessageExtraBlockBreak::encode)
+                .consumer(MessageExtraBlockBreak::handle)
+                .add();
     }
 
     private Network() {}
@@ -10,6 +10,7 @@ import net.silentchaos512.gear.api.parts.IGearPart;
 import net.silentchaos512.gear.parts.AbstractGearPart;
 import net.silentchaos512.gear.parts.PartManager;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -29,23 +30,27 @@ public class SyncGearCraftingItemsPacket {
         this.craftingItems.putAll(craftingItems);
     }
 
-    public static SyncGearCraftingItemsPacket fromBytes(PacketBuffer buffer) {
-        SilentGear.LOGGER.debug("Gear parts crafting items packet: {} bytes", buffer.readableBytes());
-        SyncGearCraftingItemsPacket packet = new SyncGearCraftingItemsPacket();
-        int count = buffer.readVarInt();
+    public static SyncGearCraftingItemsPacket fromBytes(PacketBuffer buf) {
+        SilentGear.LOGGER.debug("Gear parts crafting items packet: {} bytes", buf.readableBytes());
+        return CompactPacketBuffer.decode(buf, buffer -> {
+            SyncGearCraftingItemsPacket packet = new SyncGearCraftingItemsPacket(Collections.emptyMap());
+            int count = buffer.readVarInt();
 
-        for (int i = 0; i < count; ++i) {
-            packet.craftingItems.put(buffer.readResourceLocation(), Ingredient.read(buffer));
-        }
+            for (int i = 0; i < count; ++i) {
+                packet.craftingItems.put(buffer.readResourceLocation(), Ingredient.read(buffer));
+            }
 
-        return packet;
+            return packet;
+        });
     }
 
-    public void toBytes(PacketBuffer buffer) {
-        buffer.writeVarInt(this.craftingItems.size());
-        this.craftingItems.forEach((id, material) -> {
-            buffer.writeResourceLocation(id);
-            material.write(buffer);
+    public void toBytes(PacketBuffer buf) {
+        CompactPacketBuffer.encode(buf, buffer -> {
+            buffer.writeVarInt(this.craftingItems.size());
+            this.craftingItems.forEach((id, ingredient) -> {
+                buffer.writeResourceLocation(id);
+                CompactPacketBuffer.writeIngredient(buffer, ingredient);
+            });
         });
     }
 
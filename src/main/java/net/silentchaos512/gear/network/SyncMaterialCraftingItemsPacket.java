@@ -46,50 +46,54 @@ public class SyncMaterialCraftingItemsPacket {
         return partSubs.getOrDefault(materialId, Collections.emptyMap());
     }
 
-    public static SyncMaterialCraftingItemsPacket decode(PacketBuffer buffer) {
-        SyncMaterialCraftingItemsPacket packet = new SyncMaterialCraftingItemsPacket();
-        int count = buffer.readVarInt();
-
-        for (int i = 0; i < count; ++i) {
-            packet.craftingItems.put(buffer.readResourceLocation(), Ingredient.read(buffer));
-        }
-
-        int subCount = buffer.readVarInt();
-        for (int i = 0; i < subCount; ++i) {
-            Map<PartType, Ingredient> map = new HashMap<>();
-            ResourceLocation id = buffer.readResourceLocation();
-            int mapCount = buffer.readByte();
-
-            for (int j = 0; j < mapCount; ++j) {
-                PartType type = PartType.get(buffer.readResourceLocation());
-                Ingredient ingredient = Ingredient.read(buffer);
-                map.put(type, ingredient);
+    public static SyncMaterialCraftingItemsPacket decode(PacketBuffer buf) {
+        return CompactPacketBuffer.decode(buf, buffer -> {
+            SyncMaterialCraftingItemsPacket packet = new SyncMaterialCraftingItemsPacket();
+            int count = buffer.readVarInt();
+
+            for (int i = 0; i < count; ++i) {
+                packet.craftingItems.put(buffer.readResourceLocation(), Ingredient.read(buffer));
             }
 
-            packet.partSubs.put(id, map);
-        }
+            int subCount = buffer.readVarInt();
+            for (int i = 0; i < subCount; ++i) {
+                Map<PartType, Ingredient> map = new HashMap<>();
+                ResourceLocation id = buffer.readResourceLocation();
+                int mapCount = buffer.readByte();
 
-        return packet;
-    }
+                for (int j = 0; j < mapCount; ++j) {
+                    PartType type = PartType.get(buffer.readResourceLocation());
+                    Ingredient ingredient = Ingredient.read(buffer);
+                    map.put(type, ingredient);
+                }
 
-    public void encode(PacketBuffer buffer) {
-        buffer.writeVarInt(this.craftingItems.size());
-        this.craftingItems.forEach((id, ingredient) -> {
-            buffer.writeResourceLocation(id);
-            ingredient.write(buffer);
-        });
+                packet.partSubs.put(id, map);
+            }
 
-        buffer.writeVarInt(this.partSubs.size());
-        for (ResourceLocation id : this.partSubs.keySet()) {
-            Map<PartType, Ingredient> map = this.partSubs.get(id);
-            buffer.writeResourceLocation(id);
-            buffer.writeByte(map.size());
+            return packet;
+        });
+    }
 
-            map.forEach((type, ingredient) -> {
-                buffer.writeResourceLocation(type.getName());
-                ingredient.write(buffer);
+    public void encode(PacketBuffer buf) {
+        CompactPacketBuffer.encode(buf, buffer -> {
+            buffer.writeVarInt(this.craftingItems.size());
+            this.craftingItems.forEach((id, ingredient) -> {
+                buffer.writeResourceLocation(id);
+                CompactPacketBuffer.writeIngredient(buffer, ingredient);
             });
-        }
+
+            buffer.writeVarInt(this.partSubs.size());
+            for (ResourceLocation id : this.partSubs.keySet()) {
+                Map<PartType, Ingredient> map = this.partSubs.get(id);
+                buffer.writeResourceLocation(id);
+                buffer.writeByte(map.size());
+
+                map.forEach((type, ingredient) -> {
+                    buffer.writeResourceLocation(type.getName());
+                    CompactPacketBuffer.writeIngredient(buffer, ingredient);
+                });
+            }
+        });
     }
 
     public void handle(Supplier<NetworkEvent.Context> context) {
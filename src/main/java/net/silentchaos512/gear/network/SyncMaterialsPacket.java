@@ -24,20 +24,24 @@ public class SyncMaterialsPacket extends LoginPacket {
 
     public static SyncMaterialsPacket fromBytes(PacketBuffer buf) {
         SilentGear.LOGGER.debug("Materials packet: {} bytes", buf.readableBytes());
-        SyncMaterialsPacket packet = new SyncMaterialsPacket();
-        packet.materials = new ArrayList<>();
-        int count = buf.readVarInt();
+        return CompactPacketBuffer.decode(buf, buffer -> {
+            SyncMaterialsPacket packet = new SyncMaterialsPacket();
+            packet.materials = new ArrayList<>();
+            int count = buffer.readVarInt();
 
-        for (int i = 0; i < count; ++i) {
-            packet.materials.add(MaterialSerializers.read(buf));
-        }
+            for (int i = 0; i < count; ++i) {
+                packet.materials.add(MaterialSerializers.read(buffer));
+            }
 
-        return packet;
+            return packet;
+        });
     }
 
     public void toBytes(PacketBuffer buf) {
-        buf.writeVarInt(this.materials.size());
-        this.materials.forEach(mat -> MaterialSerializers.write(mat, buf));
+        CompactPacketBuffer.encode(buf, buffer -> {
+            buffer.writeVarInt(this.materials.size());
+            this.materials.forEach(mat -> MaterialSerializers.write(mat, buffer));
+        });
     }
 
     public List<IMaterial> getMaterials() {
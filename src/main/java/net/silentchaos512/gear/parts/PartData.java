@@ -16,13 +16,15 @@ import net.silentchaos512.gear.gear.material.MaterialManager;
 import net.silentchaos512.gear.item.CompoundPartItem;
 import net.silentchaos512.gear.parts.type.CompoundPart;
 import net.silentchaos512.gear.util.DataResource;
+import net.silentchaos512.gear.util.EpochCache;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
 
 public final class PartData implements IPartData {
-    private static final Map<ResourceLocation, PartData> CACHE_UNGRADED_PARTS = new HashMap<>();
+    // Canonical instances for parts without a crafting item
+    private static final EpochCache<ResourceLocation, PartData> CACHE_UNGRADED_PARTS = new EpochCache<>(4096, "Part lookups");
     public static final String NBT_ID = "ID";
 
     private final IGearPart part;
@@ -33,25 +35,25 @@ public final class PartData implements IPartData {
     }
 
     private PartData(IGearPart part, ItemStack craftingItem) {
+        this(part, craftingItem, true);
+    }
+
+    private PartData(IGearPart part, ItemStack craftingItem, boolean copyItem) {
         this.part = part;
-        this.craftingItem = craftingItem.copy();
+        this.craftingItem = copyItem ? craftingItem.copy() : craftingItem;
         if (!this.craftingItem.isEmpty()) {
             this.craftingItem.setCount(1);
         }
     }
 
     public static PartData of(IGearPart part) {
-        ResourceLocation name = part.getId();
-        if (CACHE_UNGRADED_PARTS.containsKey(name)) {
-            return CACHE_UNGRADED_PARTS.get(name);
-        }
-
-        PartData inst = new PartData(part);
-        CACHE_UNGRADED_PARTS.put(name, inst);
-        return inst;
+        return CACHE_UNGRADED_PARTS.get(part.getId(), id -> new PartData(part));
     }
 
     public static PartData of(IGearPart part, ItemStack craftingItem) {
+        if (craftingItem.isEmpty()) {
+            return of(part);
+        }
         return new PartData(part, craftingItem);
     }
 
@@ -119,9 +121,12 @@ public final class PartData implements IPartData {
         IGearPart part = PartManager.get(new ResourceLocation(key));
         if (part == null) return null;
 
-        MaterialGrade grade = MaterialGrade.fromString(tags.getString("Grade"));
         ItemStack craftingItem = ItemStack.read(tags.getCompound("Item"));
-        return of(part, grade, craftingItem);
+        if (craftingItem.isEmpty()) {
+            return of(part);
+        }
+        // Freshly read stack, not shared with anything
+        return new PartData(part, craftingItem, false);
     }
 
     @Nullable
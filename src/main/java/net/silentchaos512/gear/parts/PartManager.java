@@ -22,6 +22,9 @@ import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.parts.IGearPart;
 import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.network.SyncGearPartsPacket;
+import net.silentchaos512.gear.traits.TraitManager;
+import net.silentchaos512.gear.util.DataEpoch;
+import net.silentchaos512.gear.util.DifferentialReload;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
@@ -31,7 +34,6 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 @SuppressWarnings("deprecation")
 public final class PartManager implements IResourceManagerReloadListener {
@@ -44,6 +46,11 @@ public final class PartManager implements IResourceManagerReloadListener {
     private static final Map<ResourceLocation, IGearPart> MAP = Collections.synchronizedMap(new LinkedHashMap<>());
     private static int highestMainPartTier = 0;
     private static final Collection<String> ERROR_LIST = new ArrayList<>();
+    private static final DifferentialReload<IGearPart> DIFF = new DifferentialReload<>();
+
+    // Secondary indexes, rebuilt after every reload and sync
+    private static volatile Map<PartType, List<IGearPart>> partsByType = ImmutableMap.of();
+    private static volatile Map<Integer, List<IGearPart>> partsByTier = ImmutableMap.of();
 
     private PartManager() {}
 
@@ -61,6 +68,8 @@ public final class PartManager implements IResourceManagerReloadListener {
             MAP.clear();
             ERROR_LIST.clear();
             SilentGear.LOGGER.info(MARKER, "Reloading part files");
+            // Parts hold trait instances, so they can't be kept if traits changed
+            DIFF.begin(TraitManager.getLastChangedIds().isEmpty());
 
             for (ResourceLocation id : resources) {
                 String path = id.getPath().substring(DATA_PATH.length() + 1, id.getPath().length() - ".json".length());
@@ -79,10 +88,15 @@ public final class PartManager implements IResourceManagerReloadListener {
                     } else if (!CraftingHelper.processConditions(json, "conditions")) {
                         SilentGear.LOGGER.info("Skipping loading gear part {} as it's conditions were not met", name);
                     } else {
-                        IGearPart part = PartSerializers.deserialize(name, json);
-                        if (part instanceof AbstractGearPart) {
-                            ((AbstractGearPart) part).packName = iresource.getPackName();
+                        String hash = DifferentialReload.hash(packName, json);
+                        IGearPart part = DIFF.getUnchanged(name, hash);
+                        if (part == null) {
+                            part = PartSerializers.deserialize(name, json);
+                            if (part instanceof AbstractGearPart) {
+                                ((AbstractGearPart) part).packName = iresource.getPackName();
+                            }
                         }
+                        DIFF.put(name, hash, part);
                         addPart(part);
                         highestMainPartTier = Math.max(highestMainPartTier, part.getTier());
                     }
@@ -95,10 +109,34 @@ public final class PartManager implements IResourceManagerReloadListener {
                 }
             }
 
-            SilentGear.LOGGER.info(MARKER, "Registered {} parts", MAP.size());
+            buildIndexes();
+
+            Set<ResourceLocation> changed = DIFF.finish();
+            SilentGear.LOGGER.info(MARKER, "Registered {} parts ({} changed)", MAP.size(), changed.size());
+            if (!changed.isEmpty()) {
+                DataEpoch.bump("parts reloaded");
+            }
         }
     }
 
+    private static void buildIndexes() {
+        Map<PartType, ImmutableList.Builder<IGearPart>> byType = new LinkedHashMap<>();
+        Map<Integer, ImmutableList.Builder<IGearPart>> byTier = new LinkedHashMap<>();
+
+        for (IGearPart part : MAP.values()) {
+            byType.computeIfAbsent(part.getType(), type -> ImmutableList.builder()).add(part);
+            byTier.computeIfAbsent(part.getTier(), tier -> ImmutableList.builder()).add(part);
+        }
+
+        ImmutableMap.Builder<PartType, List<IGearPart>> typeBuilder = ImmutableMap.builder();
+        byType.forEach((type, builder) -> typeBuilder.put(type, builder.build()));
+        partsByType = typeBuilder.build();
+
+        ImmutableMap.Builder<Integer, List<IGearPart>> tierBuilder = ImmutableMap.builder();
+        byTier.forEach((tier, builder) -> tierBuilder.put(tier, builder.build()));
+        partsByTier = tierBuilder.build();
+    }
+
     private static Collection<ResourceLocation> getAllResources(IResourceManager resourceManager) {
         Collection<ResourceLocation> list = new ArrayList<>();
         list.addAll(resourceManager.getAllResourceLocations(DATA_PATH, s -> s.endsWith(".json")));
@@ -114,26 +152,47 @@ public final class PartManager implements IResourceManagerReloadListener {
         }
     }
 
+    /**
+     * Gets the IDs of parts which were added, changed, or removed by the last data pack reload.
+     * Parts not in this set kept the same object instance.
+     *
+     * @return Changed part IDs (immutable)
+     */
+    public static Set<ResourceLocation> getLastChangedIds() {
+        return DIFF.getLastChanged();
+    }
+
     public static Collection<IGearPart> getValues() {
         synchronized (MAP) {
             return MAP.values();
         }
     }
 
+    /**
+     * Gets all parts of the given type. The returned list is immutable.
+     *
+     * @param type The part type
+     * @return Parts of the type, in load order
+     */
     public static List<IGearPart> getPartsOfType(PartType type) {
-        // TODO: cache this?
-        return getValues().stream()
-                .filter(part -> part.getType() == type)
-                .collect(Collectors.toList());
+        return partsByType.getOrDefault(type, ImmutableList.of());
+    }
+
+    /**
+     * Gets all parts (of any type) with the given tier. The returned list is immutable.
+     *
+     * @param tier The part tier
+     * @return Parts of the tier, in load order
+     */
+    public static List<IGearPart> getPartsOfTier(int tier) {
+        return partsByTier.getOrDefault(tier, ImmutableList.of());
     }
 
     public static Collection<IGearPart> getMains() {
-        // TODO: cache this?
         return getPartsOfType(PartType.MAIN);
     }
 
     public static Collection<IGearPart> getRods() {
-        // TODO: cache this?
         return getPartsOfType(PartType.ROD);
     }
 
@@ -172,6 +231,8 @@ public final class PartManager implements IResourceManagerReloadListener {
                 part.retainData(oldParts.get(part.getId()));
                 MAP.put(part.getId(), part);
             });
+            buildIndexes();
+            DataEpoch.bump("parts synced");
             SilentGear.LOGGER.info("Read {} parts from server", MAP.size());
         }
         context.get().setPacketHandled(true);
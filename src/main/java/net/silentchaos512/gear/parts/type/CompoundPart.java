@@ -253,9 +253,12 @@ public class CompoundPart extends AbstractGearPart {
 
     private List<MaterialInstance> getRandomMaterials(GearType gearType, int count, int tier) {
         // Excludes children, will select a random child material (if appropriate) below
-        List<IMaterial> matsOfTier = MaterialManager.getValues(tier == 0).stream()
-                .filter(m -> tier < 0 || tier == m.getTier(this.partType))
-                .filter(m -> m.allowedInPart(this.partType) && m.isCraftingAllowed(this.partType, gearType))
+        List<IMaterial> candidates = tier < 0
+                ? MaterialManager.getValues(this.partType)
+                : MaterialManager.getValues(this.partType, tier);
+        List<IMaterial> matsOfTier = candidates.stream()
+                .filter(m -> tier == 0 || m.getParent() == null)
+                .filter(m -> m.isCraftingAllowed(this.partType, gearType))
                 .collect(Collectors.toList());
 
         if (!matsOfTier.isEmpty()) {
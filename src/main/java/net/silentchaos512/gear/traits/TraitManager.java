@@ -18,6 +18,8 @@ import net.minecraftforge.fml.network.NetworkEvent;
 import net.silentchaos512.gear.SilentGear;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.network.SyncTraitsPacket;
+import net.silentchaos512.gear.util.DataEpoch;
+import net.silentchaos512.gear.util.DifferentialReload;
 import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
@@ -39,6 +41,7 @@ public final class TraitManager implements IResourceManagerReloadListener {
     private static final String DATA_PATH_OLD = "silentgear/traits";
     private static final Map<ResourceLocation, ITrait> MAP = Collections.synchronizedMap(new LinkedHashMap<>());
     private static final Collection<ResourceLocation> ERROR_LIST = new ArrayList<>();
+    private static final DifferentialReload<ITrait> DIFF = new DifferentialReload<>();
 
     private TraitManager() {}
 
@@ -51,6 +54,7 @@ public final class TraitManager implements IResourceManagerReloadListener {
         MAP.clear();
         ERROR_LIST.clear();
         SilentGear.LOGGER.info(MARKER, "Reloading trait files");
+        DIFF.begin(true);
 
         for (ResourceLocation id : resources) {
             String path = id.getPath().substring(DATA_PATH.length() + 1, id.getPath().length() - ".json".length());
@@ -65,7 +69,13 @@ public final class TraitManager implements IResourceManagerReloadListener {
                 if (json == null) {
                     SilentGear.LOGGER.error(MARKER, "could not load trait {} as it's null or empty", name);
                 } else {
-                    addTrait(TraitSerializers.deserialize(name, json));
+                    String hash = DifferentialReload.hash(iresource.getPackName(), json);
+                    ITrait trait = DIFF.getUnchanged(name, hash);
+                    if (trait == null) {
+                        trait = TraitSerializers.deserialize(name, json);
+                    }
+                    DIFF.put(name, hash, trait);
+                    addTrait(trait);
                 }
             } catch (IllegalArgumentException | JsonParseException ex) {
                 SilentGear.LOGGER.error(MARKER, "Parsing error loading trait {}", name, ex);
@@ -76,7 +86,11 @@ public final class TraitManager implements IResourceManagerReloadListener {
             }
         }
 
-        SilentGear.LOGGER.info(MARKER, "Registered {} traits", MAP.size());
+        Set<ResourceLocation> changed = DIFF.finish();
+        SilentGear.LOGGER.info(MARKER, "Registered {} traits ({} changed)", MAP.size(), changed.size());
+        if (!changed.isEmpty()) {
+            DataEpoch.bump("traits reloaded");
+        }
     }
 
     private static Collection<ResourceLocation> getAllResources(IResourceManager resourceManager) {
@@ -94,6 +108,16 @@ public final class TraitManager implements IResourceManagerReloadListener {
         }
     }
 
+    /**
+     * Gets the IDs of traits which were added, changed, or removed by the last data pack reload.
+     * Traits not in this set kept the same object instance.
+     *
+     * @return Changed trait IDs (immutable)
+     */
+    public static Set<ResourceLocation> getLastChangedIds() {
+        return DIFF.getLastChanged();
+    }
+
     public static Collection<ResourceLocation> getKeys() {
         synchronized (MAP) {
             return MAP.keySet();
@@ -119,6 +143,7 @@ public final class TraitManager implements IResourceManagerReloadListener {
     public static void handleTraitSyncPacket(SyncTraitsPacket packet, Supplier<NetworkEvent.Context> context) {
         MAP.clear();
         packet.getTraits().forEach(trait -> MAP.put(trait.getId(), trait));
+        DataEpoch.bump("traits synced");
         SilentGear.LOGGER.info("Read {} traits from server", MAP.size());
         context.get().setPacketHandled(true);
     }
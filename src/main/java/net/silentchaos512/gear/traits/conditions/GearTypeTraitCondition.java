@@ -14,6 +14,7 @@ import net.silentchaos512.gear.api.traits.ITraitConditionSerializer;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.util.GearHelper;
 
+import javax.annotation.Nullable;
 import java.util.List;
 
 public class GearTypeTraitCondition implements ITraitCondition {
@@ -21,13 +22,17 @@ public class GearTypeTraitCondition implements ITraitCondition {
     private static final ResourceLocation NAME = SilentGear.getId("gear_type");
 
     private final String gearType;
+    // Resolved when possible, so matching does not need to look up the name
+    @Nullable private final GearType type;
 
     public GearTypeTraitCondition(String gearType) {
         this.gearType = gearType;
+        this.type = GearType.get(gearType);
     }
 
     public GearTypeTraitCondition(GearType gearType) {
         this.gearType = gearType.getName();
+        this.type = gearType;
     }
 
     @Override
@@ -37,14 +42,16 @@ public class GearTypeTraitCondition implements ITraitCondition {
 
     @Override
     public boolean matches(ItemStack gear, PartDataList parts, ITrait trait) {
-        GearType type = GearHelper.getType(gear);
-        return type.matches(this.gearType);
+        return matchesType(GearHelper.getType(gear));
     }
 
     @Override
     public boolean matches(ItemStack gear, PartType partType, List<MaterialInstance> materials, ITrait trait) {
-        GearType type = GearHelper.getType(gear);
-        return type.matches(this.gearType);
+        return matchesType(GearHelper.getType(gear));
+    }
+
+    private boolean matchesType(GearType type) {
+        return this.type != null ? type.matches(this.type) : type.matches(this.gearType);
     }
 
     public static class Serializer implements ITraitConditionSerializer<GearTypeTraitCondition> {
@@ -0,0 +1,101 @@
+package net.silentchaos512.gear.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Live statistics for the mod's caches and a few expensive operations, shown in the debug overlay.
+ * Caches register a supplier of their current statistics once, and timings are recorded into
+ * rolling averages. Recording is cheap (a few atomic operations), so it is always enabled.
+ */
+public final class CacheMetrics {
+    private static final Map<String, Supplier<Snapshot>> CACHES = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public static final RollingAverage MODEL_BAKE_TIME = new RollingAverage(64);
+    public static final RollingAverage RECALCULATE_TIME = new RollingAverage(64);
+
+    private CacheMetrics() {}
+
+    /**
+     * Registers a cache to show in the debug overlay. Registering the same name again replaces the
+     * previous supplier.
+     *
+     * @param name  The name to display
+     * @param stats Supplies the current statistics
+     */
+    public static void register(String name, Supplier<Snapshot> stats) {
+        CACHES.put(name, stats);
+    }
+
+    /**
+     * @return The current statistics of every registered cache, in registration order
+     */
+    public static Map<String, Snapshot> getCaches() {
+        Map<String, Snapshot> map = new LinkedHashMap<>();
+        synchronized (CACHES) {
+            CACHES.forEach((name, stats) -> map.put(name, stats.get()));
+        }
+        return map;
+    }
+
+    public static final class Snapshot {
+        public final long hits;
+        public final long misses;
+        public final long evictions;
+        public final long size;
+
+        public Snapshot(long hits, long misses, long evictions, long size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        /**
+         * @return Ratio of hits to requests, or 1 if there have been no requests
+         */
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * Average of the most recent samples of a duration.
+     */
+    public static final class RollingAverage {
+        private final long[] samples;
+        private int next;
+        private int count;
+        private long total;
+
+        public RollingAverage(int sampleCount) {
+            this.samples = new long[sampleCount];
+        }
+
+        /**
+         * @param nanos The duration, in nanoseconds
+         */
+        public synchronized void record(long nanos) {
+            total += nanos - samples[next];
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            if (count < samples.length) {
+                ++count;
+            }
+        }
+
+        /**
+         * @return The average of recent samples in milliseconds, or 0 if nothing was recorded
+         */
+        public synchronized double getAverageMillis() {
+            return count == 0 ? 0.0 : total / (count * 1_000_000.0);
+        }
+
+        public synchronized int getSampleCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package net.silentchaos512.gear.util;
+
+import net.silentchaos512.gear.SilentGear;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A global counter which is incremented every time materials, parts, traits or material displays
+ * are reloaded or synced from the server. Anything derived from that data can either remember the
+ * epoch it was built in and compare with {@link #get()}, use an {@link EpochCache}, or register a
+ * listener with {@link #addListener(Runnable)} to be cleared eagerly.
+ */
+public final class DataEpoch {
+    public static final Marker MARKER = MarkerManager.getMarker("DataEpoch");
+
+    private static final AtomicInteger EPOCH = new AtomicInteger();
+    private static final List<Runnable> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private DataEpoch() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * Gets the current epoch. The value only ever increases while the game is running.
+     *
+     * @return The current data epoch
+     */
+    public static int get() {
+        return EPOCH.get();
+    }
+
+    /**
+     * Check if something built in the given epoch is still valid.
+     *
+     * @param epoch The epoch the value was built in
+     * @return True if no reload or sync has happened since
+     */
+    public static boolean isCurrent(int epoch) {
+        return epoch == EPOCH.get();
+    }
+
+    /**
+     * Register a listener which is called every time the epoch changes. Listeners may be called on
+     * the server thread, the client thread, or a resource loading thread, so they must be thread
+     * safe.
+     *
+     * @param listener The listener
+     */
+    public static void addListener(Runnable listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Increment the epoch, invalidating all derived data. Called by the data managers after a
+     * reload or sync packet.
+     *
+     * @param reason What changed, for logging
+     */
+    public static void bump(String reason) {
+        int epoch = EPOCH.incrementAndGet();
+        SilentGear.LOGGER.debug(MARKER, "Data epoch is now {} ({})", epoch, reason);
+        for (Runnable listener : LISTENERS) {
+            listener.run();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package net.silentchaos512.gear.util;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.item.Item;
+import net.minecraft.tags.ITag;
+import net.minecraft.tags.ITagCollection;
+import net.minecraft.tags.ItemTags;
+import net.minecraft.tags.NetworkTagManager;
+import net.minecraft.util.ResourceLocation;
+import net.silentchaos512.gear.config.Config;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Tracks a content hash for each entry loaded by a data manager, so that entries whose JSON did not
+ * change since the last reload can keep their existing object instance. The hash covers the pack
+ * name, the JSON and the contents of any item tags the JSON references, since tag ingredients are
+ * resolved when the entry is parsed. Tags are read from the reload in progress (see {@link
+ * #setIncomingTags(NetworkTagManager)}), so a change to tags alone is noticed by the same reload.
+ * <p>
+ * Usage: call {@link #begin(boolean)}, then for each entry either reuse the object returned by
+ * {@link #getUnchanged(ResourceLocation, String)} or parse a new one, passing the result to
+ * {@link #put(ResourceLocation, String, Object)}. Finally, {@link #finish()} returns the IDs of
+ * every added, changed or removed entry.
+ *
+ * @param <T> The type of object loaded (material, part, trait)
+ */
+public final class DifferentialReload<T> {
+    // Tags being loaded by the current data pack reload. The global tag collections are only
+    // replaced after the reload finishes, so they would give the previous reload's tags.
+    @Nullable private static volatile NetworkTagManager incomingTags;
+
+    private Map<ResourceLocation, Entry<T>> previous = new HashMap<>();
+    private final Map<ResourceLocation, Entry<T>> current = new HashMap<>();
+    private boolean allowReuse;
+    private Set<ResourceLocation> lastChanged = ImmutableSet.of();
+
+    /**
+     * Sets the tag manager of a data pack reload which is about to start. Tags are loaded before
+     * any data manager, so entry hashes can use the new tags.
+     *
+     * @param tagManager The tag manager from the data pack registries being loaded
+     */
+    public static void setIncomingTags(NetworkTagManager tagManager) {
+        incomingTags = tagManager;
+    }
+
+    /**
+     * Start a new reload.
+     *
+     * @param allowReuse If false, no entries will be reused (everything is considered changed). Use
+     *                   this when something the entries depend on has changed.
+     */
+    public void begin(boolean allowReuse) {
+        this.current.clear();
+        this.allowReuse = allowReuse && Config.Common.differentialReload.get();
+    }
+
+    /**
+     * Gets the existing object for the entry, if its content hash has not changed.
+     *
+     * @param id   The entry ID
+     * @param hash The content hash, from {@link #hash(String, JsonObject)}
+     * @return The previously loaded object, or null if the entry is new or changed
+     */
+    @Nullable
+    public T getUnchanged(ResourceLocation id, String hash) {
+        if (!this.allowReuse) return null;
+
+        Entry<T> entry = this.previous.get(id);
+        if (entry != null && entry.hash.equals(hash)) {
+            return entry.value;
+        }
+        return null;
+    }
+
+    public void put(ResourceLocation id, String hash, T value) {
+        this.current.put(id, new Entry<>(hash, value));
+    }
+
+    /**
+     * Finish the reload.
+     *
+     * @return The IDs of all entries which were added, changed, or removed
+     */
+    public Set<ResourceLocation> finish() {
+        Set<ResourceLocation> changed = new LinkedHashSet<>();
+        this.current.forEach((id, entry) -> {
+            Entry<T> old = this.previous.get(id);
+            if (old == null || old.value != entry.value) {
+                changed.add(id);
+            }
+        });
+        this.previous.keySet().forEach(id -> {
+            if (!this.current.containsKey(id)) {
+                changed.add(id);
+            }
+        });
+
+        this.previous = new HashMap<>(this.current);
+        this.current.clear();
+        this.lastChanged = ImmutableSet.copyOf(changed);
+        return this.lastChanged;
+    }
+
+    /**
+     * Gets the IDs which changed in the last finished reload.
+     *
+     * @return Changed IDs (immutable)
+     */
+    public Set<ResourceLocation> getLastChanged() {
+        return this.lastChanged;
+    }
+
+    /**
+     * Compute the content hash of an entry.
+     *
+     * @param packName The name of the pack the entry was loaded from
+     * @param json     The entry JSON, after conditions are processed
+     * @return The content hash
+     */
+    public static String hash(String packName, JsonObject json) {
+        StringBuilder content = new StringBuilder(packName).append('\n').append(json);
+
+        SortedSet<String> tagIds = new TreeSet<>();
+        collectTagIds(json, tagIds);
+        ITagCollection<Item> itemTags = getItemTags();
+        for (String tagIdStr : tagIds) {
+            content.append('\n').append(tagIdStr).append('=');
+            ResourceLocation tagId = ResourceLocation.tryCreate(tagIdStr);
+            ITag<Item> tag = tagId != null ? itemTags.get(tagId) : null;
+            if (tag != null) {
+                for (Item item : tag.getAllElements()) {
+                    content.append(item.getRegistryName()).append(',');
+                }
+            }
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder ret = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                ret.append(String.format("%02x", b));
+            }
+            return ret.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // Should never happen, every JVM must provide SHA-256
+            return content.toString();
+        }
+    }
+
+    private static ITagCollection<Item> getItemTags() {
+        NetworkTagManager tagManager = incomingTags;
+        return tagManager != null ? tagManager.getItems() : ItemTags.getCollection();
+    }
+
+    private static void collectTagIds(JsonElement json, Collection<String> tagIds) {
+        if (json.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject().entrySet()) {
+                JsonElement value = entry.getValue();
+                if ("tag".equals(entry.getKey()) && value.isJsonPrimitive()) {
+                    tagIds.add(value.getAsString());
+                } else {
+                    collectTagIds(value, tagIds);
+                }
+            }
+        } else if (json.isJsonArray()) {
+            json.getAsJsonArray().forEach(e -> collectTagIds(e, tagIds));
+        }
+    }
+
+    private static final class Entry<T> {
+        private final String hash;
+        private final T value;
+
+        private Entry(String hash, T value) {
+            this.hash = hash;
+            this.value = value;
+        }
+    }
+}
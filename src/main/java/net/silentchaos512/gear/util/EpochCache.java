@@ -0,0 +1,134 @@
+package net.silentchaos512.gear.util;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe cache which is emptied whenever the {@link DataEpoch} changes. Values are never
+ * returned across a reload or sync, so there is no need to clear the cache manually. Optionally
+ * size-bounded: when full, the cache is emptied before adding a new key, which keeps the bound
+ * cheap for caches that normally stay well below it.
+ * <p>
+ * Hits, misses and evictions are counted, and caches given a name are shown in the debug overlay
+ * (see {@link CacheMetrics}).
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class EpochCache<K, V> {
+    private final Map<K, V> map = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private volatile int epoch = DataEpoch.get();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EpochCache() {
+        this(0);
+    }
+
+    /**
+     * @param maximumSize Maximum number of entries, or zero for no limit
+     */
+    public EpochCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * @param maximumSize Maximum number of entries, or zero for no limit
+     * @param name        Name of the cache in the debug overlay
+     */
+    public EpochCache(int maximumSize, String name) {
+        this(maximumSize);
+        CacheMetrics.register(name, this::getStats);
+    }
+
+    @Nullable
+    public V get(K key) {
+        validate();
+        V value = map.get(key);
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+        int current = validate();
+        V value = map.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+        checkSize();
+        value = map.computeIfAbsent(key, mappingFunction);
+        discardIfStale(current, key, value);
+        return value;
+    }
+
+    public void put(K key, V value) {
+        int current = validate();
+        if (!map.containsKey(key)) {
+            checkSize();
+        }
+        map.put(key, value);
+        discardIfStale(current, key, value);
+    }
+
+    public int size() {
+        validate();
+        return map.size();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * Gets the statistics of the cache. Evictions count the entries dropped because the cache was
+     * full, not those dropped when the data epoch changes.
+     *
+     * @return The statistics
+     */
+    public CacheMetrics.Snapshot getStats() {
+        return new CacheMetrics.Snapshot(hits.sum(), misses.sum(), evictions.sum(), map.size());
+    }
+
+    private void checkSize() {
+        // Emptying the whole cache is crude compared to LRU, but needs no bookkeeping on hits. The
+        // bounded caches are sized well above their normal working set, so this is rare, and the
+        // evictions counter shows when it is not.
+        if (maximumSize > 0) {
+            int size = map.size();
+            if (size >= maximumSize) {
+                map.clear();
+                evictions.add(size);
+            }
+        }
+    }
+
+    /**
+     * Removes a value added in the given epoch if the epoch has changed since. The value may have
+     * been computed from old data and added after the cache was cleared for the new epoch.
+     */
+    private void discardIfStale(int epoch, K key, V value) {
+        if (!DataEpoch.isCurrent(epoch)) {
+            map.remove(key, value);
+        }
+    }
+
+    private int validate() {
+        int current = DataEpoch.get();
+        if (this.epoch != current) {
+            synchronized (this) {
+                if (this.epoch != current) {
+                    map.clear();
+                    this.epoch = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -21,6 +21,7 @@ import net.silentchaos512.gear.api.stats.StatInstance;
 import net.silentchaos512.gear.api.stats.StatModifierMap;
 import net.silentchaos512.gear.api.traits.ITrait;
 import net.silentchaos512.gear.api.traits.TraitActionContext;
+import net.silentchaos512.gear.client.util.ColorUtils;
 import net.silentchaos512.gear.config.Config;
 import net.silentchaos512.gear.gear.material.MaterialInstance;
 import net.silentchaos512.gear.item.CompoundPartItem;
@@ -84,7 +85,6 @@ public final class GearData {
      *               use {@link net.minecraftforge.common.ForgeHooks#getCraftingPlayer} the get the
      *               player during crafting.
      */
-    @SuppressWarnings("OverlyLongMethod")
     public static void recalculateStats(ItemStack stack, @Nullable PlayerEntity player) {
         if (!GearHelper.isGear(stack)) {
             SilentGear.LOGGER.error("Called recalculateStats on non-gear item, {}", stack);
@@ -92,6 +92,13 @@ public final class GearData {
             return;
         }
 
+        long start = System.nanoTime();
+        recalculateStatsImpl(stack, player);
+        CacheMetrics.RECALCULATE_TIME.record(System.nanoTime() - start);
+    }
+
+    @SuppressWarnings("OverlyLongMethod")
+    private static void recalculateStatsImpl(ItemStack stack, @Nullable PlayerEntity player) {
         getUUID(stack);
         ICoreItem item = (ICoreItem) stack.getItem();
         PartDataList parts = getConstructionParts(stack);
@@ -418,43 +425,18 @@ public final class GearData {
     }
 
     private static int getBlendedColor(ItemStack gear, List<PartData> parts) {
-        int[] componentSums = new int[3];
-        int maxColorSum = 0;
-        int colorCount = 0;
-
         int partCount = parts.size();
+        int[] colors = new int[partCount];
+        int[] weights = new int[partCount];
+
         for (int i = 0; i < partCount; ++i) {
             PartData part = parts.get(i);
-            int color = part.getPart().getColor(part, gear, 0, 0);
-            int r = (color >> 16) & 0xFF;
-            int g = (color >> 8) & 0xFF;
-            int b = color & 0xFF;
-            // Add earlier colors multiple times, to give them greater weight
-            int colorWeight = (partCount - i) * (partCount - i);
-            for (int j = 0; j < colorWeight; ++j) {
-                maxColorSum += Math.max(r, Math.max(g, b));
-                componentSums[0] += r;
-                componentSums[1] += g;
-                componentSums[2] += b;
-                ++colorCount;
-            }
+            colors[i] = part.getPart().getColor(part, gear, 0, 0);
+            // Earlier colors are given greater weight
+            weights[i] = (partCount - i) * (partCount - i);
         }
 
-        if (colorCount > 0) {
-            int r = componentSums[0] / colorCount;
-            int g = componentSums[1] / colorCount;
-            int b = componentSums[2] / colorCount;
-            float maxAverage = (float) maxColorSum / (float) colorCount;
-            float max = (float) Math.max(r, Math.max(g, b));
-            r = (int) ((float) r * maxAverage / max);
-            g = (int) ((float) g * maxAverage / max);
-            b = (int) ((float) b * maxAverage / max);
-            int finalColor = (r << 8) + g;
-            finalColor = (finalColor << 8) + b;
-            return finalColor;
-        }
-
-        return Color.VALUE_WHITE;
+        return ColorUtils.blend(colors, weights, partCount);
     }
 
     //region Part getters and checks
@@ -29,9 +29,9 @@ import net.silentchaos512.gear.api.parts.PartType;
 import net.silentchaos512.gear.parts.PartData;
 import net.silentchaos512.gear.parts.PartManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public final class GearGenerator {
     private GearGenerator() {
@@ -49,9 +49,9 @@ public final class GearGenerator {
 
         if (!optional.isPresent()) {
             // No compound part available? Try to find a simple part.
-            List<IGearPart> partsOfTier = PartManager.getValues().stream()
-                    .filter(part -> partTier == -1 || partTier == part.getTier())
-                    .collect(Collectors.toList());
+            List<IGearPart> partsOfTier = partTier == -1
+                    ? new ArrayList<>(PartManager.getValues())
+                    : PartManager.getPartsOfTier(partTier);
 
             if (!partsOfTier.isEmpty()) {
                 IGearPart random = partsOfTier.get(SilentGear.random.nextInt(partsOfTier.size()));
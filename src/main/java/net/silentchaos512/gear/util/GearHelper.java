@@ -2,6 +2,7 @@ package net.silentchaos512.gear.util;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
+import com.mojang.datafixers.util.Pair;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.material.Material;
 import net.minecraft.entity.Entity;
@@ -65,6 +66,9 @@ public final class GearHelper {
     private static final float BROKEN_ATTACK_SPEED_CHANGE = 0.7f;
     private static final float BROKEN_DESTROY_SPEED = 0.25f;
     private static final int DAMAGE_FACTOR_LEVELS = 10;
+    // Creative tab samples, keyed by item and tier. Samples have random parts, so this also keeps
+    // them from changing every time the tab is opened.
+    private static final EpochCache<Pair<Item, Integer>, ItemStack> EXAMPLE_GEAR = new EpochCache<>(0, "Example gear");
 
     private GearHelper() {}
 
@@ -474,6 +478,10 @@ public final class GearHelper {
     }
 
     private static ItemStack createSampleItem(ICoreItem item, int tier) {
+        return EXAMPLE_GEAR.get(Pair.of(item.asItem(), tier), key -> buildSampleItem(item, tier)).copy();
+    }
+
+    private static ItemStack buildSampleItem(ICoreItem item, int tier) {
         ItemStack result = GearGenerator.create(item, tier);
         if (result.isEmpty()) {
             Collection<IPartData> parts = new ArrayList<>();
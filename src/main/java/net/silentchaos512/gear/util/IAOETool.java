@@ -18,9 +18,11 @@
 
 package net.silentchaos512.gear.util;
 
+import com.mojang.blaze3d.vertex.IVertexBuilder;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.client.renderer.ActiveRenderInfo;
+import net.minecraft.client.renderer.RenderType;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.ServerPlayerEntity;
@@ -31,21 +33,29 @@ import net.minecraft.util.Direction;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.BlockRayTraceResult;
 import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.shapes.ISelectionContext;
+import net.minecraft.util.math.shapes.VoxelShape;
+import net.minecraft.util.math.shapes.VoxelShapes;
+import net.minecraft.util.math.vector.Matrix4f;
+import net.minecraft.util.math.vector.Vector3d;
 import net.minecraft.world.World;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.client.event.DrawHighlightEvent;
 import net.minecraftforge.common.ForgeHooks;
 import net.minecraftforge.common.Tags;
 import net.minecraftforge.common.ToolType;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.silentchaos512.gear.SilentGear;
-import net.silentchaos512.gear.config.Config;
+import net.silentchaos512.gear.config.CompiledConfig;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public interface IAOETool {
     /**
@@ -66,6 +76,20 @@ public interface IAOETool {
     @Nullable
     RayTraceResult rayTraceBlocks(World world, PlayerEntity player);
 
+    /**
+     * Gets the blocks which are broken along with the targeted block. By default, these are the
+     * blocks around the target on the plane of the targeted face (a 3x3 area).
+     * <p>
+     * The block highlight caches its outline while nothing in that 3x3 area changes (see {@link
+     * HighlightHandler}). Items which override this method may look at other blocks, so their
+     * outline is rebuilt every frame instead.
+     *
+     * @param world  The world
+     * @param rt     The targeted block
+     * @param player The player using the tool
+     * @param stack  The tool
+     * @return The extra blocks to break
+     */
     default List<BlockPos> getExtraBlocks(World world, @Nullable BlockRayTraceResult rt, PlayerEntity player, ItemStack stack) {
         List<BlockPos> positions = new ArrayList<>();
 
@@ -197,8 +221,8 @@ public interface IAOETool {
             boolean isOre1 = isOre(state1);
             boolean isOre2 = isOre(state2);
             MatchMode mode = isOre1 && isOre2
-                    ? Config.Common.matchModeOres.get()
-                    : Config.Common.matchModeStandard.get();
+                    ? CompiledConfig.common().matchModeOres
+                    : CompiledConfig.common().matchModeStandard;
 
             if (mode == MatchMode.LOOSE || block1 == block2)
                 return true;
@@ -217,32 +241,159 @@ public interface IAOETool {
         }
     }
 
+    /**
+     * Draws outlines around the extra blocks of AOE tools. The extra blocks and their outline are
+     * cached for the targeted block, since the target rarely changes between frames. The cached
+     * outline is rebuilt when the target, held item, config or data change, or when any block in
+     * the 3x3 area around the target changes. Outlines of items which override {@link
+     * IAOETool#getExtraBlocks} are not cached, since they may depend on other blocks.
+     */
     @Mod.EventBusSubscriber(modid = SilentGear.MOD_ID, value = Dist.CLIENT)
     final class HighlightHandler {
+        @Nullable private static Outline cached;
+        private static final Map<Class<?>, Boolean> USES_DEFAULT_AREA = new HashMap<>();
+
         private HighlightHandler() {}
 
         @SubscribeEvent
-        public static void onDrawBlockHighlight(DrawHighlightEvent event) {
+        public static void onDrawBlockHighlight(DrawHighlightEvent.HighlightBlock event) {
             ActiveRenderInfo info = event.getInfo();
             Entity entity = info.getRenderViewEntity();
             if (!(entity instanceof PlayerEntity)) return;
 
             PlayerEntity player = (PlayerEntity) entity;
+            ItemStack stack = player.getHeldItemMainhand();
+            if (!(stack.getItem() instanceof IAOETool)) return;
+
+            World world = player.getEntityWorld();
+            Outline outline = getOutline(world, event.getTarget(), player, stack);
+            if (outline.shape.isEmpty()) return;
+
+            IVertexBuilder builder = event.getBuffers().getBuffer(RenderType.getLines());
+            Matrix4f matrix = event.getMatrix().getLast().getMatrix();
+            Vector3d camera = info.getProjectedView();
+            float x = (float) (outline.pos.getX() - camera.x);
+            float y = (float) (outline.pos.getY() - camera.y);
+            float z = (float) (outline.pos.getZ() - camera.z);
+            // Same color as vanilla's block outline
+            outline.shape.forEachEdge((x1, y1, z1, x2, y2, z2) -> {
+                builder.pos(matrix, x + (float) x1, y + (float) y1, z + (float) z1).color(0f, 0f, 0f, 0.4f).endVertex();
+                builder.pos(matrix, x + (float) x2, y + (float) y2, z + (float) z2).color(0f, 0f, 0f, 0.4f).endVertex();
+            });
+        }
+
+        @SubscribeEvent
+        public static void onWorldUnload(WorldEvent.Unload event) {
+            // Don't keep the client world and held item alive
+            if (event.getWorld().isRemote()) {
+                cached = null;
+            }
+        }
+
+        private static Outline getOutline(World world, BlockRayTraceResult rt, PlayerEntity player, ItemStack stack) {
+            if (!usesDefaultArea((IAOETool) stack.getItem())) {
+                cached = null;
+                return new Outline(world, rt, player, stack);
+            }
 
-            RayTraceResult rt = event.getTarget();
+            Outline outline = cached;
+            if (outline == null || !outline.isValid(world, rt, player, stack)) {
+                outline = new Outline(world, rt, player, stack);
+                cached = outline;
+            }
+            return outline;
+        }
+
+        private static boolean usesDefaultArea(IAOETool tool) {
+            return USES_DEFAULT_AREA.computeIfAbsent(tool.getClass(), clazz -> {
+                try {
+                    return clazz.getMethod("getExtraBlocks", World.class, BlockRayTraceResult.class, PlayerEntity.class, ItemStack.class)
+                            .getDeclaringClass() == IAOETool.class;
+                } catch (NoSuchMethodException ex) {
+                    return false;
+                }
+            });
+        }
+
+        private static final class Outline {
+            private final World world;
+            private final BlockPos pos;
+            private final Direction face;
+            private final ItemStack stack;
+            private final boolean crouching;
+            private final CompiledConfig.Common config;
+            private final int dataEpoch;
+            // The targeted block and its neighbors, which are the only blocks getExtraBlocks checks
+            private final BlockPos[] area;
+            private final BlockState[] areaStates;
+            private final VoxelShape shape;
+
+            private Outline(World world, BlockRayTraceResult rt, PlayerEntity player, ItemStack stack) {
+                this.world = world;
+                this.pos = rt.getPos();
+                this.face = rt.getFace();
+                // Copied, since the held stack changes in place (damage, etc.)
+                this.stack = stack.copy();
+                this.crouching = player.isCrouching();
+                this.config = CompiledConfig.common();
+                this.dataEpoch = DataEpoch.get();
+                this.area = getArea(this.pos, this.face.getAxis());
+                this.areaStates = new BlockState[this.area.length];
+                for (int i = 0; i < this.area.length; ++i) {
+                    this.areaStates[i] = world.getBlockState(this.area[i]);
+                }
+
+                List<BlockPos> extraBlocks = ((IAOETool) stack.getItem()).getExtraBlocks(world, rt, player, stack);
 
-            if (/*event.getSubID() == 0 &&*/ rt.getType() == RayTraceResult.Type.BLOCK) {
-                ItemStack stack = player.getHeldItemMainhand();
+                ISelectionContext context = ISelectionContext.forEntity(player);
+                VoxelShape shape = VoxelShapes.empty();
+                for (BlockPos extraPos : extraBlocks) {
+                    VoxelShape blockShape = world.getBlockState(extraPos).getShape(world, extraPos, context);
+                    shape = VoxelShapes.or(shape, blockShape.withOffset(
+                            extraPos.getX() - this.pos.getX(),
+                            extraPos.getY() - this.pos.getY(),
+                            extraPos.getZ() - this.pos.getZ()));
+                }
+                this.shape = shape;
+            }
 
-                if (stack.getItem() instanceof IAOETool) {
-                    World world = player.getEntityWorld();
-                    IAOETool item = (IAOETool) stack.getItem();
+            private boolean isValid(World world, BlockRayTraceResult rt, PlayerEntity player, ItemStack stack) {
+                if (this.world != world
+                        || !ItemStack.areItemStacksEqual(this.stack, stack)
+                        || this.face != rt.getFace()
+                        || this.crouching != player.isCrouching()
+                        || this.config != CompiledConfig.common()
+                        || this.dataEpoch != DataEpoch.get()
+                        || !this.pos.equals(rt.getPos())) {
+                    return false;
+                }
+                for (int i = 0; i < this.area.length; ++i) {
+                    if (world.getBlockState(this.area[i]) != this.areaStates[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
 
-                    for (BlockPos pos : item.getExtraBlocks(world, (BlockRayTraceResult) rt, player, stack)) {
-                        // FIXME
-//                        event.getContext().drawSelectionBox(info, new BlockRayTraceResult(Vec3d.ZERO, Direction.UP, pos, false), 0);
+            private static BlockPos[] getArea(BlockPos pos, Direction.Axis axis) {
+                BlockPos[] area = new BlockPos[9];
+                int i = 0;
+                for (int a = -1; a <= 1; ++a) {
+                    for (int b = -1; b <= 1; ++b) {
+                        switch (axis) {
+                            case X:
+                                area[i++] = pos.add(0, a, b);
+                                break;
+                            case Y:
+                                area[i++] = pos.add(a, 0, b);
+                                break;
+                            default:
+                                area[i++] = pos.add(a, b, 0);
+                                break;
+                        }
                     }
                 }
+                return area;
             }
         }
     }
@@ -0,0 +1,67 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraft.inventory.IInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.items.ItemHandlerHelper;
+
+import java.util.Collection;
+
+/**
+ * Helpers for machines which put several result stacks into a group of output slots at once.
+ */
+public final class OutputSlotHelper {
+    private OutputSlotHelper() {}
+
+    /**
+     * Merges stacks into the given slots, filling partial stacks before empty slots. Stack counts
+     * may exceed the max stack size, they will be split up as needed. Nothing is changed unless
+     * everything fits.
+     *
+     * @param inventory The inventory
+     * @param slots     The output slot indexes
+     * @param stacks    The stacks to insert (not modified)
+     * @param simulate  If true, only check if the stacks would fit
+     * @return True if all stacks fit
+     */
+    public static boolean insert(IInventory inventory, int[] slots, Collection<ItemStack> stacks, boolean simulate) {
+        ItemStack[] contents = new ItemStack[slots.length];
+        for (int i = 0; i < contents.length; ++i) {
+            contents[i] = inventory.getStackInSlot(slots[i]).copy();
+        }
+
+        for (ItemStack stack : stacks) {
+            int remaining = stack.getCount();
+            int maxSize = Math.min(stack.getMaxStackSize(), inventory.getInventoryStackLimit());
+
+            for (int i = 0; i < contents.length && remaining > 0; ++i) {
+                if (!contents[i].isEmpty() && ItemHandlerHelper.canItemStacksStack(contents[i], stack)) {
+                    int toAdd = Math.min(remaining, maxSize - contents[i].getCount());
+                    if (toAdd > 0) {
+                        contents[i].grow(toAdd);
+                        remaining -= toAdd;
+                    }
+                }
+            }
+            for (int i = 0; i < contents.length && remaining > 0; ++i) {
+                if (contents[i].isEmpty()) {
+                    int toAdd = Math.min(remaining, maxSize);
+                    contents[i] = ItemHandlerHelper.copyStackWithSize(stack, toAdd);
+                    remaining -= toAdd;
+                }
+            }
+
+            if (remaining > 0) {
+                return false;
+            }
+        }
+
+        if (!simulate) {
+            for (int i = 0; i < contents.length; ++i) {
+                if (!ItemStack.areItemStacksEqual(contents[i], inventory.getStackInSlot(slots[i]))) {
+                    inventory.setInventorySlotContents(slots[i], contents[i]);
+                }
+            }
+        }
+        return true;
+    }
+}
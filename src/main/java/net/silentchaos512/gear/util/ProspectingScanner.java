@@ -0,0 +1,71 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.MutableBoundingBox;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.silentchaos512.gear.init.ModTags;
+
+import java.util.Set;
+
+/**
+ * Finds prospector hammer targets in an area, one chunk section at a time. Each section's block
+ * state palette is checked first, so sections without any targets (most of them) are skipped
+ * without looking at a single block. Blocks in the remaining sections are read from the section
+ * directly.
+ * <p>
+ * Nothing is cached between scans. Not every block change can be observed (blocks placed without
+ * notifying neighbors, for example), and the palette check is cheap enough to repeat each scan.
+ */
+public final class ProspectingScanner {
+    private ProspectingScanner() {}
+
+    /**
+     * Adds all prospector hammer targets in the box to {@code matches}.
+     *
+     * @param world   The world
+     * @param box     The area to search (inclusive)
+     * @param matches Found blocks are added to this set
+     */
+    public static void scan(World world, MutableBoundingBox box, Set<BlockState> matches) {
+        int minY = Math.max(box.minY, 0);
+        int maxY = Math.min(box.maxY, world.getHeight() - 1);
+
+        for (int chunkX = box.minX >> 4; chunkX <= box.maxX >> 4; ++chunkX) {
+            for (int chunkZ = box.minZ >> 4; chunkZ <= box.maxZ >> 4; ++chunkZ) {
+                ChunkSection[] sections = world.getChunk(chunkX, chunkZ).getSections();
+
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; ++sectionY) {
+                    ChunkSection section = sectionY < sections.length ? sections[sectionY] : null;
+                    if (!ChunkSection.isEmpty(section) && section.func_235962_a_(ProspectingScanner::isTarget)) {
+                        scanSection(section, chunkX << 4, sectionY << 4, chunkZ << 4, box, matches);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void scanSection(ChunkSection section, int originX, int originY, int originZ, MutableBoundingBox box, Set<BlockState> matches) {
+        int minX = Math.max(box.minX - originX, 0);
+        int maxX = Math.min(box.maxX - originX, 15);
+        int minY = Math.max(box.minY - originY, 0);
+        int maxY = Math.min(box.maxY - originY, 15);
+        int minZ = Math.max(box.minZ - originZ, 0);
+        int maxZ = Math.min(box.maxZ - originZ, 15);
+
+        for (int y = minY; y <= maxY; ++y) {
+            for (int z = minZ; z <= maxZ; ++z) {
+                for (int x = minX; x <= maxX; ++x) {
+                    BlockState state = section.getBlockState(x, y, z);
+                    if (isTarget(state)) {
+                        matches.add(state);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isTarget(BlockState state) {
+        return state.isIn(ModTags.Blocks.PROSPECTOR_HAMMER_TARGETS);
+    }
+}
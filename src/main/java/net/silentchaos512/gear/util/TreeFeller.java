@@ -0,0 +1,189 @@
+package net.silentchaos512.gear.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.player.ServerPlayerEntity;
+import net.minecraft.inventory.EquipmentSlotType;
+import net.minecraft.item.ItemStack;
+import net.minecraft.stats.Stats;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.server.ServerWorld;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.common.ToolType;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.items.ItemHandlerHelper;
+import net.silentchaos512.gear.SilentGear;
+import net.silentchaos512.gear.api.item.ICoreTool;
+import net.silentchaos512.gear.config.Config;
+
+import java.util.*;
+
+/**
+ * Fells trees over several ticks, breaking at most {@code gear.saw.blocksPerTick} logs each tick.
+ * Logs are found with a breadth-first search from the first log, so there is no recursion and each
+ * position is checked once. Drops are merged and spawned once per tick, and the tool is damaged
+ * once per tick for all logs broken in that tick.
+ * <p>
+ * Felling stops early if the player logs out, switches away from the tool, or the tool breaks.
+ */
+@Mod.EventBusSubscriber(modid = SilentGear.MOD_ID)
+public final class TreeFeller {
+    // Same limit as the old recursive felling, roughly a 10 block radius and 30 blocks up
+    private static final int MAX_DISTANCE_SQ = 1000;
+
+    private static final List<TreeFeller> ACTIVE = new ArrayList<>();
+
+    private final ServerWorld world;
+    private final ServerPlayerEntity player;
+    private final ItemStack tool;
+    private final Block log;
+    private final BlockPos start;
+    private final int blocksPerTick;
+    private final Deque<BlockPos> queue = new ArrayDeque<>();
+    private final Set<BlockPos> visited = new HashSet<>();
+
+    private TreeFeller(ServerWorld world, ServerPlayerEntity player, ItemStack tool, Block log, BlockPos start) {
+        this.world = world;
+        this.player = player;
+        this.tool = tool;
+        this.log = log;
+        this.start = start;
+        this.blocksPerTick = Config.Common.sawBlocksPerTick.get();
+        this.queue.add(start);
+        this.visited.add(start);
+    }
+
+    /**
+     * Starts felling a tree. The first batch of logs (including {@code start}) is broken
+     * immediately, the rest over the following ticks.
+     *
+     * @param world  The world
+     * @param player The player felling the tree
+     * @param tool   The tool, which must be held in the player's main hand
+     * @param start  The log the player broke
+     */
+    public static void fell(ServerWorld world, ServerPlayerEntity player, ItemStack tool, BlockPos start) {
+        TreeFeller feller = new TreeFeller(world, player, tool, world.getBlockState(start).getBlock(), start);
+        if (feller.tick()) {
+            ACTIVE.add(feller);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && !ACTIVE.isEmpty()) {
+            ACTIVE.removeIf(feller -> feller.world == event.world && !feller.tick());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onWorldUnload(WorldEvent.Unload event) {
+        ACTIVE.removeIf(feller -> feller.world == event.getWorld());
+    }
+
+    /**
+     * Breaks the next batch of logs.
+     *
+     * @return True if there are more logs to break
+     */
+    private boolean tick() {
+        if (!canContinue()) {
+            return false;
+        }
+
+        List<ItemStack> drops = new ArrayList<>();
+        int damage = 0;
+        int broken = 0;
+
+        while (broken < blocksPerTick && !queue.isEmpty()) {
+            BlockPos pos = queue.poll();
+            BlockState state = world.getBlockState(pos);
+            if (state.getBlock() != log || !canHarvest(pos, state)) {
+                continue;
+            }
+
+            BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(world, pos, state, player);
+            if (!MinecraftForge.EVENT_BUS.post(event)) {
+                TileEntity tileEntity = world.getTileEntity(pos);
+                if (state.removedByPlayer(world, pos, player, true, state.getFluidState())) {
+                    state.getBlock().onPlayerDestroy(world, pos, state);
+                    // Creative players only remove the block, same as vanilla
+                    if (!player.abilities.isCreativeMode) {
+                        player.addStat(Stats.BLOCK_MINED.get(state.getBlock()));
+                        player.addExhaustion(0.005f);
+                        Block.getDrops(state, world, pos, tileEntity, player, tool).forEach(stack -> mergeDrop(drops, stack));
+                        state.spawnAdditionalDrops(world, pos, tool);
+                        if (event.getExpToDrop() > 0) {
+                            state.getBlock().dropXpOnBlockBreak(world, pos, event.getExpToDrop());
+                        }
+                        if (tool.getItem() instanceof ICoreTool) {
+                            damage += ((ICoreTool) tool.getItem()).getDamageOnBlockBreak(tool, world, state, pos);
+                        }
+                    }
+                    ++broken;
+                }
+            }
+
+            // Protected logs are not broken, but felling continues past them like before
+            addNeighbors(pos);
+        }
+
+        drops.forEach(stack -> Block.spawnAsEntity(world, start, stack));
+        if (damage > 0) {
+            GearHelper.attemptDamage(tool, damage, player, EquipmentSlotType.MAINHAND);
+        }
+
+        return !queue.isEmpty();
+    }
+
+    private boolean canContinue() {
+        return !player.removed
+                && player.world == world
+                && player.getHeldItemMainhand() == tool
+                && !GearHelper.isBroken(tool);
+    }
+
+    private boolean canHarvest(BlockPos pos, BlockState state) {
+        int toolLevel = tool.getItem().getHarvestLevel(tool, ToolType.AXE, player, state);
+        return state.getBlock().getHarvestLevel(state) <= toolLevel && state.getBlockHardness(world, pos) >= 0;
+    }
+
+    private void addNeighbors(BlockPos pos) {
+        for (int x = -1; x <= 1; ++x) {
+            for (int y = 0; y <= 1; ++y) {
+                for (int z = -1; z <= 1; ++z) {
+                    BlockPos next = pos.add(x, y, z);
+                    if (isInRange(next) && visited.add(next) && world.isBlockLoaded(next) && world.getBlockState(next).getBlock() == log) {
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isInRange(BlockPos pos) {
+        int x = pos.getX() - start.getX();
+        int y = pos.getY() - start.getY();
+        int z = pos.getZ() - start.getZ();
+        return 9 * x * x + y * y + 9 * z * z < MAX_DISTANCE_SQ;
+    }
+
+    private static void mergeDrop(List<ItemStack> drops, ItemStack stack) {
+        for (ItemStack existing : drops) {
+            if (stack.isEmpty()) return;
+            if (ItemHandlerHelper.canItemStacksStack(existing, stack)) {
+                int count = Math.min(stack.getCount(), existing.getMaxStackSize() - existing.getCount());
+                existing.grow(count);
+                stack.shrink(count);
+            }
+        }
+        if (!stack.isEmpty()) {
+            drops.add(stack.copy());
+        }
+    }
+}